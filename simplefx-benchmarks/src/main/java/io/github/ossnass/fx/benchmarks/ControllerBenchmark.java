@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.ControlMaster;
+import io.github.ossnass.fx.SimpleController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ControlMaster#getController(String)} for each controller type.
+ * <p>
+ * The controllers of type MULTIPLE_INSTANCE and POOLED are handed back the way closing their stage does,
+ * so the benchmark doesn't accumulate controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {HeadlessFX.GLASS_PLATFORM, HeadlessFX.MONOCLE_PLATFORM, HeadlessFX.PRISM_ORDER})
+public class ControllerBenchmark {
+    private ControlMaster cm;
+    private MethodHandle recycle;
+    private MethodHandle release;
+
+    @Setup
+    public void setup() throws Exception {
+        cm = HeadlessFX.start();
+        //the benchmarks run on the class path, so the package-private methods can be reached
+        recycle = MethodHandles.privateLookupIn(ControlMaster.class, MethodHandles.lookup())
+                .findVirtual(ControlMaster.class, "recycle", MethodType.methodType(void.class, SimpleController.class));
+        release = MethodHandles.privateLookupIn(SimpleController.class, MethodHandles.lookup())
+                .findVirtual(SimpleController.class, "release", MethodType.methodType(void.class));
+    }
+
+    @Benchmark
+    public SimpleController singleInstanceOnStartup() throws Exception {
+        return cm.getController("Startup");
+    }
+
+    @Benchmark
+    public SimpleController singleInstanceOnDemand() throws Exception {
+        return cm.getController("OnDemand");
+    }
+
+    @Benchmark
+    public SimpleController multipleInstance() throws Throwable {
+        SimpleController controller = cm.getController("Multiple");
+        release.invokeExact(controller);
+        return controller;
+    }
+
+    @Benchmark
+    public SimpleController pooled() throws Throwable {
+        SimpleController controller = cm.getController("Pooled");
+        recycle.invokeExact(cm, controller);
+        return controller;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.ControlMaster;
+import javafx.application.Platform;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Starts the JavaFX toolkit without a display using Monocle, and initializes {@link ControlMaster} once per JVM
+ */
+public final class HeadlessFX {
+    /*
+     * The JVM arguments selecting the headless Monocle platform, added to every fork
+     */
+    public static final String GLASS_PLATFORM = "-Dglass.platform=Monocle";
+    public static final String MONOCLE_PLATFORM = "-Dmonocle.platform=Headless";
+    public static final String PRISM_ORDER = "-Dprism.order=sw";
+
+    private static boolean toolkitStarted = false;
+    private static boolean started = false;
+    private static Path languageFile;
+
+    private HeadlessFX() {
+    }
+
+    /**
+     * Starts the toolkit if needed and initializes {@link ControlMaster} with the benchmark controllers
+     *
+     * @return the control master
+     * @throws Exception if the toolkit or the control master cannot be initialized
+     */
+    public static synchronized ControlMaster start() throws Exception {
+        if (started)
+            return ControlMaster.getControlMaster();
+        startToolkit();
+        ControlMaster.getControlMaster().initControlMaster(getLanguageFile().toString());
+        started = true;
+        return ControlMaster.getControlMaster();
+    }
+
+    /**
+     * Starts the toolkit if needed, without initializing {@link ControlMaster}
+     *
+     * @throws InterruptedException if interrupted while waiting for the toolkit
+     */
+    public static synchronized void startToolkit() throws InterruptedException {
+        if (toolkitStarted)
+            return;
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        latch.await();
+        Platform.setImplicitExit(false);
+        toolkitStarted = true;
+    }
+
+    /**
+     * Returns the language file of the benchmarks copied to a temporary file
+     *
+     * @return the path of the language file
+     * @throws IOException if the language file cannot be copied
+     */
+    public static synchronized Path getLanguageFile() throws IOException {
+        if (languageFile == null)
+            languageFile = copyResource("/benchmarks/en-us.lang");
+        return languageFile;
+    }
+
+    /**
+     * Runs the task on the JavaFX application thread and waits for its result
+     */
+    public static <T> T call(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a resource of the benchmarks to a temporary file, keeping its extension
+     *
+     * @param resource the path of the resource
+     * @return the path of the temporary file
+     * @throws IOException if the resource cannot be found or copied
+     */
+    public static Path copyResource(String resource) throws IOException {
+        Path file = Files.createTempFile("simplefx-benchmarks", resource.substring(resource.lastIndexOf('.')));
+        file.toFile().deleteOnExit();
+        try (InputStream in = HeadlessFX.class.getResourceAsStream(resource)) {
+            if (in == null)
+                throw new FileNotFoundException(resource);
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+}
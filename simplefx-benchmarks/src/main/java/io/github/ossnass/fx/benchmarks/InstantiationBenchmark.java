@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.ControlMaster;
+import io.github.ossnass.fx.benchmarks.controllers.MultipleController;
+import javafx.util.Callback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of creating a controller: the reflective lookup done by FXMLLoader on every load,
+ * a cached {@link Constructor}, and the controller factory used by SimpleFX
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {HeadlessFX.GLASS_PLATFORM, HeadlessFX.MONOCLE_PLATFORM, HeadlessFX.PRISM_ORDER})
+public class InstantiationBenchmark {
+    private Class<?> controllerClass;
+    private Constructor<?> constructor;
+    private Callback<Class<?>, Object> factory;
+
+    @Setup
+    public void setup() throws Exception {
+        controllerClass = MultipleController.class;
+        constructor = controllerClass.getDeclaredConstructor();
+        factory = ControlMaster.getControllerFactory();
+        //resolves the constructor before the measurement like the registration of the controller does
+        factory.call(controllerClass);
+    }
+
+    @Benchmark
+    public Object reflectionLookup() throws Exception {
+        return controllerClass.getDeclaredConstructor().newInstance();
+    }
+
+    @Benchmark
+    public Object cachedConstructor() throws Exception {
+        return constructor.newInstance();
+    }
+
+    @Benchmark
+    public Object controllerFactory() {
+        return factory.call(controllerClass);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.LanguageMergeReport;
+import io.github.ossnass.fx.LanguageSource;
+import io.github.ossnass.fx.MultiSourceResourceBundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures appending language fragments to a language one by one using
+ * {@link MultiSourceResourceBundle#appendResource(java.io.Reader)} and at once using
+ * {@link MultiSourceResourceBundle#appendResources(List)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanguageAppendBenchmark {
+    private static final String HEADER = "LANG.NAME=English (US)\nLANG.SHORT=en\nLANG.COUNTRY=US\nLANG.DIR=LTR\n";
+
+    @Param({"8", "32"})
+    public int fragments;
+
+    @Param({"200"})
+    public int keys;
+
+    private String[] files;
+
+    @Setup
+    public void setup() {
+        files = new String[fragments];
+        for (int i = 0; i < fragments; i++) {
+            StringBuilder file = new StringBuilder(HEADER);
+            for (int j = 0; j < keys; j++)
+                file.append("module.").append(i).append(".key.").append(j).append("=value ").append(j).append('\n');
+            files[i] = file.toString();
+        }
+    }
+
+    @Benchmark
+    public MultiSourceResourceBundle appendResource() throws IOException {
+        MultiSourceResourceBundle bundle = new MultiSourceResourceBundle(new StringReader(HEADER));
+        for (String file : files)
+            bundle.appendResource(new StringReader(file));
+        return bundle;
+    }
+
+    @Benchmark
+    public LanguageMergeReport appendResources() throws IOException {
+        MultiSourceResourceBundle bundle = new MultiSourceResourceBundle(new StringReader(HEADER));
+        List<LanguageSource> sources = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++)
+            sources.add(LanguageSource.of("fragment " + i, new StringReader(files[i])));
+        return bundle.appendResources(sources);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.MultiSourceResourceBundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookups of {@link MultiSourceResourceBundle} for language files of different sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanguageBenchmark {
+    @Param({"10", "1000"})
+    public int keys;
+
+    private Bundle bundle;
+    private String key;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder file = new StringBuilder("LANG.NAME=English (US)\nLANG.SHORT=en\nLANG.COUNTRY=US\nLANG.DIR=LTR\n");
+        for (int i = 0; i < keys; i++)
+            file.append("key.").append(i).append("=value ").append(i).append('\n');
+        bundle = new Bundle(new StringReader(file.toString()));
+        key = "key." + (keys / 2);
+    }
+
+    @Benchmark
+    public Object handleGetObject() {
+        return bundle.get(key);
+    }
+
+    @Benchmark
+    public String getString() {
+        return bundle.getString(key);
+    }
+
+    @Benchmark
+    public void getKeys(Blackhole blackhole) {
+        Enumeration<String> res = bundle.getKeys();
+        while (res.hasMoreElements())
+            blackhole.consume(res.nextElement());
+    }
+
+    /**
+     * Exposes {@link MultiSourceResourceBundle#handleGetObject(String)} to the benchmark
+     */
+    private static final class Bundle extends MultiSourceResourceBundle {
+        Bundle(Reader reader) throws IOException {
+            super(reader);
+        }
+
+        Object get(String key) {
+            return handleGetObject(key);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.ControlMaster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ControlMaster#switchLanguage(String)} between a LTR and a RTL language,
+ * with the startup controller and an on demand controller loaded.
+ * <p>
+ * The languages are either read on each switch or kept in memory using {@link ControlMaster#preloadLanguage(String, String...)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {HeadlessFX.GLASS_PLATFORM, HeadlessFX.MONOCLE_PLATFORM, HeadlessFX.PRISM_ORDER})
+public class LanguageSwitchBenchmark {
+    @Param({"false", "true"})
+    public boolean resident;
+
+    private ControlMaster cm;
+    private String english;
+    private String arabic;
+
+    @Setup
+    public void setup() throws Exception {
+        cm = HeadlessFX.start();
+        english = HeadlessFX.getLanguageFile().toString();
+        arabic = HeadlessFX.copyResource("/benchmarks/ar-sa.lang").toString();
+        if (resident) {
+            cm.preloadLanguage(english);
+            cm.preloadLanguage(arabic, english);
+        }
+        cm.getController("Startup");
+        cm.getController("OnDemand");
+    }
+
+    @Benchmark
+    public void switchLanguage() throws Exception {
+        cm.switchLanguage(arabic);
+        cm.switchLanguage(english);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.settings.IntegerSetting;
+import io.github.ossnass.fx.settings.SettingsManager;
+import io.github.ossnass.fx.settings.StringSetting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link io.github.ossnass.fx.settings.Setting#setData(Object)},
+ * every change is persisted to the settings file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettingsBenchmark {
+    private static final int EXTRA_SETTINGS = 50;
+    private static IntegerSetting counter;
+
+    private int value;
+
+    @Setup
+    public void setup() throws Exception {
+        //settings register themselves once per JVM, so they are shared by all the trials of the fork
+        synchronized (SettingsBenchmark.class) {
+            if (counter == null) {
+                Path file = Files.createTempFile("simplefx-benchmarks", ".properties");
+                file.toFile().deleteOnExit();
+                SettingsManager.initSettingsManager(file.toString());
+                counter = new IntegerSetting("benchmark.counter", 0);
+                for (int i = 0; i < EXTRA_SETTINGS; i++)
+                    new StringSetting("benchmark.setting" + i, "value " + i).setData("value " + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void setData() {
+        counter.setData(value++);
+    }
+}
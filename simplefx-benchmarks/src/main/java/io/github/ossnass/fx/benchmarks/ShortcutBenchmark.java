@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import io.github.ossnass.fx.keyboard.KBSManager;
+import io.github.ossnass.fx.keyboard.KBShortcut;
+import javafx.event.Event;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatch of a key event by {@link KBSManager} to its keyboard shortcuts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {HeadlessFX.GLASS_PLATFORM, HeadlessFX.MONOCLE_PLATFORM, HeadlessFX.PRISM_ORDER})
+public class ShortcutBenchmark {
+    @Param({"10", "100", "1000"})
+    public int shortcuts;
+
+    private Pane root;
+    private KeyEvent matching;
+    private KeyEvent notMatching;
+    private long handled;
+
+    @Setup
+    public void setup() throws Exception {
+        HeadlessFX.startToolkit();
+        root = new Pane();
+        KBSManager kbsm = new KBSManager(root);
+        KeyCode[] codes = KeyCode.values();
+        for (int i = 0; i < shortcuts - 1; i++) {
+            KeyCombination combination = new KeyCodeCombination(codes[i % codes.length], KeyCombination.SHORTCUT_DOWN, KeyCombination.ALT_DOWN);
+            kbsm.addKeyboardShortcut("shortcut" + i, new KBShortcut<>(null, combination, e -> handled++));
+        }
+        kbsm.addKeyboardShortcut("matching", new KBShortcut<>(null, new KeyCodeCombination(KeyCode.F5), e -> handled++));
+        matching = new KeyEvent(KeyEvent.KEY_RELEASED, "", "", KeyCode.F5, false, false, false, false);
+        notMatching = new KeyEvent(KeyEvent.KEY_RELEASED, "", "", KeyCode.F6, false, false, false, false);
+    }
+
+    @Benchmark
+    public long dispatchMatching() {
+        Event.fireEvent(root, matching.copyFor(root, root));
+        return handled;
+    }
+
+    @Benchmark
+    public long dispatchNotMatching() {
+        Event.fireEvent(root, notMatching.copyFor(root, root));
+        return handled;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.benchmarks;
+
+import javafx.css.Stylesheet;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to open the first scene using a stylesheet, either as CSS text or compiled to .bss
+ * by the CSS compiler of JavaFX used by the compile-css goal of simplefx-maven-plugin.
+ * <p>
+ * JavaFX keeps the parsed stylesheets for the life of the application, so only the first scene pays for the parsing,
+ * each fork measures a single scene.
+ * The synthetic theme is generated in a temporary directory outside the class path, so JavaFX cannot pick the .bss file
+ * in place of the CSS file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = {HeadlessFX.GLASS_PLATFORM, HeadlessFX.MONOCLE_PLATFORM, HeadlessFX.PRISM_ORDER})
+public class StylesheetBenchmark {
+    private static final int ROWS = 50;
+    private static final int THEMES = 200;
+    private static final String[] COLORS = {"#1e88e5", "#43a047", "#e53935", "#fb8c00", "#8e24aa", "#00897b", "#3949ab", "#6d4c41"};
+
+    @Param({"css", "bss"})
+    public String format;
+
+    private String stylesheet;
+    private VBox root;
+
+    @Setup
+    public void setup() throws Exception {
+        HeadlessFX.startToolkit();
+        stylesheet = createStylesheet(format).toUri().toString();
+        //creating the controls loads the default stylesheet of JavaFX, so it is not measured
+        root = HeadlessFX.call(StylesheetBenchmark::createNodes);
+    }
+
+    @Benchmark
+    public Scene openScene() throws Exception {
+        return HeadlessFX.call(() -> {
+            Scene scene = new Scene(root);
+            scene.getStylesheets().add(stylesheet);
+            root.applyCss();
+            root.layout();
+            return scene;
+        });
+    }
+
+    /**
+     * Writes a synthetic theme large enough for parsing to show in the scene-open time, compiled to .bss if requested
+     */
+    private static Path createStylesheet(String format) throws IOException {
+        Path dir = Files.createTempDirectory("simplefx-benchmarks");
+        dir.toFile().deleteOnExit();
+        Path css = dir.resolve("theme.css");
+        css.toFile().deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(css, StandardCharsets.UTF_8)) {
+            writer.write(".root {\n    -fx-font-size: 13px;\n    -fx-base: #ececec;\n    -fx-accent: #1e88e5;\n}\n");
+            for (int i = 0; i < THEMES; i++) {
+                String theme = ".theme-" + i;
+                String color = COLORS[i % COLORS.length];
+                String accent = COLORS[(i + 3) % COLORS.length];
+                writer.write("\n" + theme + " .button, " + theme + " .toggle-button {\n"
+                        + "    -fx-background-color: linear-gradient(to bottom, derive(" + color + ", 20%), " + color + ");\n"
+                        + "    -fx-background-radius: " + (2 + i % 6) + "px;\n"
+                        + "    -fx-text-fill: white;\n"
+                        + "    -fx-padding: " + (3 + i % 4) + "px " + (6 + i % 5) + "px;\n"
+                        + "}\n\n"
+                        + theme + " .button:hover, " + theme + " .button:focused {\n"
+                        + "    -fx-background-color: derive(" + color + ", -15%);\n"
+                        + "    -fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.25), " + (2 + i % 8) + ", 0.2, 0, 1);\n"
+                        + "}\n\n"
+                        + theme + " .label, " + theme + " .text-field {\n"
+                        + "    -fx-text-fill: derive(" + accent + ", -40%);\n"
+                        + "    -fx-border-color: transparent transparent " + accent + " transparent;\n"
+                        + "    -fx-font-weight: " + (i % 2 == 0 ? "normal" : "bold") + ";\n"
+                        + "}\n");
+            }
+        }
+        if (!"bss".equals(format))
+            return css;
+        Path bss = dir.resolve("theme.bss");
+        bss.toFile().deleteOnExit();
+        Stylesheet.convertToBinary(css.toFile(), bss.toFile());
+        return bss;
+    }
+
+    private static VBox createNodes() {
+        VBox res = new VBox();
+        for (int i = 0; i < ROWS; i++) {
+            HBox row = new HBox(new Label("Label " + i), new TextField("Text " + i), new Button("Button " + i));
+            row.getStyleClass().add("theme-" + (i * 4));
+            res.getChildren().add(row);
+        }
+        return res;
+    }
+}
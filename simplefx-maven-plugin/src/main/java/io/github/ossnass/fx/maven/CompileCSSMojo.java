@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.maven;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the CSS files in the resources of the project to the binary stylesheet format of JavaFX (.bss).
+ * <p>
+ * Each CSS file is compiled to a .bss file with the same path, which SimpleFX uses instead of the CSS file
+ * for the global CSS list and the CSS of the controllers, so the CSS is not parsed at runtime.
+ * <p>
+ * The compiler of JavaFX (Css2Bin) is loaded from the dependencies of the project, a CSS file that cannot be
+ * compiled is skipped and parsed at runtime.
+ */
+@Mojo(name = "compile-css", defaultPhase = LifecyclePhase.GENERATE_RESOURCES,
+        requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class CompileCSSMojo extends AbstractMojo {
+    private static final String CSS2BIN = "com.sun.javafx.css.parser.Css2Bin";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The directory where the compiled stylesheets are written
+     */
+    @Parameter(defaultValue = "${project.build.directory}/generated-resources/simplefx-css", required = true)
+    private File outputDirectory;
+
+    /**
+     * Skips the compilation of the CSS files
+     */
+    @Parameter(property = "simplefx.css.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping the compilation of the CSS files");
+            return;
+        }
+        Map<String, Path> files = findCSSFiles();
+        int compiled = 0;
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        try (URLClassLoader loader = createClassLoader()) {
+            Method convert;
+            try {
+                convert = loader.loadClass(CSS2BIN).getMethod("convert", String.class, String.class);
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                getLog().warn("Cannot find " + CSS2BIN + " in the dependencies of the project, the CSS files will be parsed at runtime");
+                return;
+            }
+            thread.setContextClassLoader(loader);
+            for (Map.Entry<String, Path> file : files.entrySet()) {
+                Path css = file.getValue();
+                Path bss = outputDirectory.toPath().resolve(file.getKey().substring(0, file.getKey().length() - ".css".length()) + ".bss");
+                if (Files.isRegularFile(bss) && Files.getLastModifiedTime(bss).compareTo(Files.getLastModifiedTime(css)) >= 0) {
+                    compiled++;
+                    continue;
+                }
+                Files.createDirectories(bss.getParent());
+                try {
+                    convert.invoke(null, css.toString(), bss.toString());
+                    compiled++;
+                } catch (InvocationTargetException | LinkageError e) {
+                    Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                    getLog().warn("The CSS file " + file.getKey() + " will be parsed at runtime: " + cause);
+                    Files.deleteIfExists(bss);
+                } catch (IllegalAccessException e) {
+                    throw new MojoExecutionException("Cannot call " + CSS2BIN, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot compile the CSS files", e);
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        getLog().info("Compiled " + compiled + " of " + files.size() + " CSS files");
+        Resource resource = new Resource();
+        resource.setDirectory(outputDirectory.getPath());
+        project.addResource(resource);
+    }
+
+    /**
+     * Finds the CSS files in the resources of the project, by path in the resources
+     */
+    private Map<String, Path> findCSSFiles() throws MojoExecutionException {
+        Map<String, Path> res = new TreeMap<>();
+        for (Resource resource : project.getResources()) {
+            Path root = new File(resource.getDirectory()).toPath();
+            if (!Files.isDirectory(root) || root.equals(outputDirectory.toPath()))
+                continue;
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(f -> f.toString().endsWith(".css") && Files.isRegularFile(f))
+                        .forEach(f -> res.putIfAbsent(root.relativize(f).toString().replace(File.separatorChar, '/'), f));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot read the resources in " + root, e);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates a class loader for the dependencies of the project, used to load the CSS compiler of JavaFX
+     */
+    private URLClassLoader createClassLoader() throws MojoExecutionException {
+        try {
+            List<URL> urls = new ArrayList<>();
+            for (String element : project.getCompileClasspathElements())
+                urls.add(new File(element).toURI().toURL());
+            return new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+        } catch (MalformedURLException | org.apache.maven.artifact.DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Cannot resolve the class path of the project", e);
+        }
+    }
+}
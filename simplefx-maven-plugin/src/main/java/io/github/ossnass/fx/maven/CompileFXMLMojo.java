@@ -0,0 +1,346 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.maven;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the FXML files of the SimpleFX controllers into Java classes.
+ * <p>
+ * The goal runs after the classes of the project are compiled, the FXML files are found using the controller index
+ * written by the SimpleFX annotation processor, or by reading the {@code @ControllerInfo} annotations of the compiled
+ * classes when the processor isn't used.
+ * The generated sources are compiled into the output directory of the project, next to the index used by
+ * SimpleFX to find them.
+ * <p>
+ * FXML files using features that cannot be compiled are skipped, and loaded using FXMLLoader at runtime.
+ */
+@Mojo(name = "compile-fxml", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class CompileFXMLMojo extends AbstractMojo {
+    private static final String INDEX = "META-INF/simplefx/views.idx";
+    private static final String CONTROLLER_INDEX = "META-INF/simplefx/controllers.idx";
+    private static final String CONTROLLER_INFO = "io.github.ossnass.fx.ControllerInfo";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The directory where the sources of the generated classes are written
+     */
+    @Parameter(defaultValue = "${project.build.directory}/generated-sources/simplefx", required = true)
+    private File outputDirectory;
+
+    /**
+     * The directory of the compiled classes of the project, where the generated classes and their index are written
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    /**
+     * The Java release the generated classes are compiled for, defaults to the release of the project
+     */
+    @Parameter(property = "simplefx.release", defaultValue = "${maven.compiler.release}")
+    private String release;
+
+    /**
+     * The Java version the generated classes are compiled for when {@code release} is not set,
+     * defaults to the target of the project
+     */
+    @Parameter(defaultValue = "${maven.compiler.target}")
+    private String target;
+
+    /**
+     * Additional FXML files to compile, as paths in the resources of the project
+     */
+    @Parameter
+    private List<String> fxmlFiles;
+
+    /**
+     * Skips the compilation of the FXML files
+     */
+    @Parameter(property = "simplefx.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping the compilation of the FXML files");
+            return;
+        }
+        Map<String, String> index = new TreeMap<>();
+        Set<String> classNames = new HashSet<>();
+        List<File> sources = new ArrayList<>();
+        Set<String> paths;
+        try (URLClassLoader loader = createClassLoader()) {
+            paths = findFXMLFiles(loader);
+            if (fxmlFiles != null)
+                paths.addAll(fxmlFiles);
+            FXMLCompiler compiler = new FXMLCompiler(loader);
+            for (String path : paths) {
+                String resource = path.startsWith("/") ? path.substring(1) : path;
+                Path file = findResource(resource);
+                if (file == null) {
+                    getLog().warn("Cannot find the FXML file " + path);
+                    continue;
+                }
+                FXMLCompiler.CompiledSource compiled;
+                try (InputStream in = Files.newInputStream(file)) {
+                    compiled = compiler.compile(resource, in, className(resource, classNames));
+                } catch (UnsupportedFXMLException e) {
+                    getLog().info("The FXML file " + path + " will be loaded at runtime: " + e.getMessage());
+                    continue;
+                }
+                classNames.add(compiled.getQualifiedName());
+                Path source = outputDirectory.toPath().resolve(compiled.getQualifiedName().replace('.', File.separatorChar) + ".java");
+                Files.createDirectories(source.getParent());
+                Files.write(source, compiled.source.getBytes(StandardCharsets.UTF_8));
+                sources.add(source.toFile());
+                index.put(resource, compiled.getQualifiedName());
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot compile the FXML files", e);
+        }
+        try {
+            compileSources(sources);
+            writeIndex(index);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot compile the FXML files", e);
+        }
+        getLog().info("Compiled " + index.size() + " of " + paths.size() + " FXML files");
+    }
+
+    /**
+     * Reads the FXML files used by the controllers of the project from the controller index,
+     * or from the annotations of the compiled classes if there is no index
+     */
+    private Set<String> findFXMLFiles(ClassLoader loader) throws MojoExecutionException {
+        Path controllerIndex = classesDirectory.toPath().resolve(CONTROLLER_INDEX);
+        try {
+            if (Files.isRegularFile(controllerIndex))
+                return readControllerIndex(controllerIndex);
+            return readAnnotations(loader);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot find the controllers in " + classesDirectory, e);
+        }
+    }
+
+    /**
+     * Reads the FXMLFile field of the index written by the annotation processor, the lines are the class name,
+     * the Id and the FXML file separated by tabs
+     */
+    private static Set<String> readControllerIndex(Path file) throws IOException {
+        Set<String> res = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                String[] entry = line.split("\t");
+                if (entry.length == 3)
+                    res.add(entry[2]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Loads the compiled classes of the project without initializing them and reads their {@code @ControllerInfo}
+     */
+    @SuppressWarnings("unchecked")
+    private Set<String> readAnnotations(ClassLoader loader) throws IOException, MojoExecutionException {
+        Set<String> res = new HashSet<>();
+        Class<? extends Annotation> controllerInfo;
+        Method fxmlFile;
+        try {
+            controllerInfo = (Class<? extends Annotation>) Class.forName(CONTROLLER_INFO, false, loader);
+            fxmlFile = controllerInfo.getMethod("FXMLFile");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            getLog().warn("SimpleFX is not in the class path of the project, no FXML file is compiled");
+            return res;
+        }
+        Path root = classesDirectory.toPath();
+        if (!Files.isDirectory(root))
+            return res;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class"))::iterator) {
+                String name = root.relativize(file).toString();
+                name = name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.');
+                if (name.endsWith("module-info") || name.endsWith("package-info"))
+                    continue;
+                try {
+                    Annotation info = Class.forName(name, false, loader).getAnnotation(controllerInfo);
+                    if (info != null)
+                        res.add((String) fxmlFile.invoke(info));
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    getLog().debug("Cannot read the annotations of " + name + ": " + e);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Compiles the generated sources into the output directory of the project
+     */
+    private void compileSources(List<File> sources) throws IOException, MojoExecutionException {
+        if (sources.isEmpty())
+            return;
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null)
+            throw new MojoExecutionException("The compiled FXML files need a JDK to run maven");
+        List<String> options = new ArrayList<>(Arrays.asList("-d", classesDirectory.getPath(),
+                "-classpath", classPath(), "-encoding", "UTF-8", "-proc:none", "-nowarn"));
+        String version = release != null && !release.isEmpty() ? release : target;
+        if (version != null && !version.isEmpty())
+            //"1.8" is only accepted by -target
+            options.addAll(Arrays.asList("--release", version.startsWith("1.") ? version.substring(2) : version));
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = javac.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            boolean compiled = javac.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjectsFromFiles(sources)).call();
+            if (!compiled) {
+                StringBuilder errors = new StringBuilder("Cannot compile the generated views:");
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                        errors.append('\n').append(diagnostic);
+                }
+                throw new MojoExecutionException(errors.toString());
+            }
+        }
+    }
+
+    private String classPath() throws MojoExecutionException {
+        try {
+            return String.join(File.pathSeparator, project.getCompileClasspathElements());
+        } catch (org.apache.maven.artifact.DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Cannot resolve the class path of the project", e);
+        }
+    }
+
+    private Path findResource(String path) {
+        for (Resource resource : project.getResources()) {
+            Path file = new File(resource.getDirectory()).toPath().resolve(path);
+            if (Files.isRegularFile(file))
+                return file;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a class loader for the dependencies of the project, the classes of JavaFX are only inspected,
+     * never initialized
+     */
+    private URLClassLoader createClassLoader() throws MojoExecutionException {
+        try {
+            List<URL> urls = new ArrayList<>();
+            for (String element : project.getCompileClasspathElements())
+                urls.add(new File(element).toURI().toURL());
+            return new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+        } catch (MalformedURLException | org.apache.maven.artifact.DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Cannot resolve the class path of the project", e);
+        }
+    }
+
+    /**
+     * Returns the name of the class compiled from an FXML file, "fxmls/main-window.fxml" becomes "MainWindowFXML"
+     */
+    private static String className(String path, Set<String> used) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        if (name.endsWith(".fxml"))
+            name = name.substring(0, name.length() - ".fxml".length());
+        StringBuilder res = new StringBuilder();
+        boolean upper = true;
+        for (char c : name.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(c) || c == '$') {
+                upper = true;
+                continue;
+            }
+            res.append(upper ? Character.toUpperCase(c) : c);
+            upper = false;
+        }
+        if (res.length() == 0 || !Character.isJavaIdentifierStart(res.charAt(0)))
+            res.insert(0, 'V');
+        res.append("FXML");
+        String base = res.toString();
+        //the package is only known after compiling, so the simple names are kept unique
+        String simple = base;
+        for (int i = 2; containsSimpleName(used, simple); i++)
+            simple = base + i;
+        return simple;
+    }
+
+    private static boolean containsSimpleName(Set<String> classNames, String simple) {
+        for (String name : classNames) {
+            if (name.equals(simple) || name.endsWith("." + simple))
+                return true;
+        }
+        return false;
+    }
+
+    private void writeIndex(Map<String, String> index) throws IOException {
+        Path file = classesDirectory.toPath().resolve(INDEX);
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# FXML file\tcompiled view, generated by simplefx-maven-plugin\n");
+            for (Map.Entry<String, String> entry : index.entrySet())
+                writer.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts the language files of the project to language packs, a binary format that SimpleFX maps in memory
+ * instead of reading the whole language file.
+ * <p>
+ * Each "name.lang" file of the language directory is converted to "name.langpack" in the output directory,
+ * the classes directory by default so the language packs are packaged with the application.
+ * SimpleFX uses the language pack next to a language file or at the root of the class path when it is not older
+ * than the file.
+ * <p>
+ * The converter (LanguagePackConverter) is loaded from the SimpleFX dependency of the project,
+ * so the format always matches the version of SimpleFX used by the application.
+ */
+@Mojo(name = "compile-lang", defaultPhase = LifecyclePhase.GENERATE_RESOURCES,
+        requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class CompileLangMojo extends AbstractMojo {
+    private static final String CONVERTER = "io.github.ossnass.fx.LanguagePackConverter";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The directory containing the language files
+     */
+    @Parameter(defaultValue = "${project.basedir}", required = true)
+    private File languageDirectory;
+
+    /**
+     * The directory where the language packs are written
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * Skips the conversion of the language files
+     */
+    @Parameter(property = "simplefx.lang.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping the conversion of the language files");
+            return;
+        }
+        if (!languageDirectory.isDirectory())
+            return;
+        List<Path> files;
+        try (Stream<Path> list = Files.list(languageDirectory.toPath())) {
+            files = list.filter(f -> f.getFileName().toString().endsWith(".lang") && Files.isRegularFile(f))
+                    .sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot list the language files in " + languageDirectory, e);
+        }
+        if (files.isEmpty())
+            return;
+        int converted = 0;
+        try (URLClassLoader loader = createClassLoader()) {
+            Method convert;
+            try {
+                convert = loader.loadClass(CONVERTER).getMethod("convert", Path.class, Path.class);
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                getLog().warn("Cannot find " + CONVERTER + " in the dependencies of the project, the language files will be read at runtime");
+                return;
+            }
+            Files.createDirectories(outputDirectory.toPath());
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Path pack = outputDirectory.toPath().resolve(name.substring(0, name.length() - ".lang".length()) + ".langpack");
+                if (Files.isRegularFile(pack) && Files.getLastModifiedTime(pack).compareTo(Files.getLastModifiedTime(file)) >= 0)
+                    continue;
+                try {
+                    convert.invoke(null, file, pack);
+                    converted++;
+                } catch (InvocationTargetException e) {
+                    throw new MojoExecutionException("Cannot convert the language file " + file, e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new MojoExecutionException("Cannot call " + CONVERTER, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot convert the language files", e);
+        }
+        getLog().info("Converted " + converted + " of " + files.size() + " language files");
+    }
+
+    /**
+     * Creates a class loader for the dependencies of the project, used to load the converter of SimpleFX
+     */
+    private URLClassLoader createClassLoader() throws MojoExecutionException {
+        try {
+            List<URL> urls = new ArrayList<>();
+            for (String element : project.getCompileClasspathElements())
+                urls.add(new File(element).toURI().toURL());
+            return new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+        } catch (MalformedURLException | org.apache.maven.artifact.DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Cannot resolve the class path of the project", e);
+        }
+    }
+}
@@ -0,0 +1,750 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx.maven;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an FXML file into the Java source of a class implementing {@code io.github.ossnass.fx.CompiledFXML}.
+ * <p>
+ * The compiled class constructs the same nodes as {@code FXMLLoader} would, calling the constructors and setters directly,
+ * while fx:id injection, "#handler" event handlers, "resources" injection and "initialize()" are delegated
+ * to {@code io.github.ossnass.fx.FXMLBinder} at runtime.
+ * <p>
+ * The following subset of FXML is supported:
+ * <ul>
+ *     <li>Instance elements of public classes having a public no-arg constructor or a constructor annotated with {@code @NamedArg}</li>
+ *     <li>fx:id, fx:controller (on the root element), fx:value, fx:constant and fx:factory</li>
+ *     <li>Property attributes and property elements, including read-only list properties and the default property</li>
+ *     <li>Static property attributes and elements like {@code GridPane.columnIndex}</li>
+ *     <li>"%key" resources, "@location" locations, "\" escapes and "#handler" event handlers</li>
+ * </ul>
+ * Any other feature (fx:include, fx:define, fx:reference, fx:copy, fx:root, fx:script, "$" expressions, ...)
+ * throws {@link UnsupportedFXMLException}, and the FXML file is left to {@code FXMLLoader}.
+ */
+class FXMLCompiler {
+    private static final String FX_NAMESPACE = "http://javafx.com/fxml";
+    private static final String XMLNS_NAMESPACE = "http://www.w3.org/2000/xmlns/";
+    private static final String BINDER = "io.github.ossnass.fx.FXMLBinder";
+    private static final String NAMED_ARG = "javafx.beans.NamedArg";
+    private static final String DEFAULT_PROPERTY = "javafx.beans.DefaultProperty";
+    private static final String EVENT_HANDLER = "javafx.event.EventHandler";
+
+    private final ClassLoader loader;
+
+    private final List<String> imports = new ArrayList<>();
+    private final StringBuilder methods = new StringBuilder();
+    private int counter;
+
+    /**
+     * Creates a new compiler
+     *
+     * @param loader the class loader used to resolve the classes used in the FXML files
+     */
+    FXMLCompiler(ClassLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * The result of compiling an FXML file
+     */
+    static class CompiledSource {
+        final String packageName;
+        final String className;
+        final String source;
+
+        CompiledSource(String packageName, String className, String source) {
+            this.packageName = packageName;
+            this.className = className;
+            this.source = source;
+        }
+
+        String getQualifiedName() {
+            return packageName.isEmpty() ? className : packageName + "." + className;
+        }
+    }
+
+    /**
+     * Compiles an FXML file, the compiled class is placed in the package of the controller declared by fx:controller
+     *
+     * @param fxmlPath  the path of the FXML file in the resources, only used in the comments of the generated code
+     * @param in        the content of the FXML file
+     * @param className the simple name of the class to generate
+     * @return the generated source
+     * @throws UnsupportedFXMLException if the FXML file cannot be compiled
+     */
+    CompiledSource compile(String fxmlPath, InputStream in, String className) throws UnsupportedFXMLException {
+        imports.clear();
+        imports.add("java.lang.*");
+        methods.setLength(0);
+        counter = 0;
+        XmlElement root = parse(in);
+        String controller = root.fxAttributes.remove("controller");
+        if (controller == null)
+            throw new UnsupportedFXMLException("the root element has no fx:controller");
+        String controllerName = controller.replace('$', '.');
+        int dot = controllerName.lastIndexOf('.');
+        String packageName = dot < 0 ? "" : controllerName.substring(0, dot);
+        Built built = instance(root);
+
+        StringBuilder source = new StringBuilder();
+        source.append("// Generated by SimpleFX from ").append(fxmlPath).append(", do not edit\n");
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n");
+        source.append('\n')
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(className).append(" implements io.github.ossnass.fx.CompiledFXML {\n")
+                .append("    static {\n")
+                .append("        //allows SimpleFX to create the controllers of this package\n")
+                .append("        ").append(className).append(".class.getModule().addOpens(").append(className)
+                .append(".class.getPackageName(), io.github.ossnass.fx.CompiledFXML.class.getModule());\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getControllerClass() {\n")
+                .append("        return ").append(controllerName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object build(").append(BINDER).append(" binder) throws java.io.IOException {\n")
+                .append("        binder.setLookup(java.lang.invoke.MethodHandles.lookup());\n")
+                .append("        return ").append(built.method).append("(binder);\n")
+                .append("    }\n")
+                .append(methods)
+                .append("}\n");
+        return new CompiledSource(packageName, className, source.toString());
+    }
+
+    /**
+     * A parsed XML element, keeping the attributes in the order of the document
+     */
+    private static class XmlElement {
+        String namespace;
+        String name;
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        final Map<String, String> fxAttributes = new LinkedHashMap<>();
+        final List<XmlElement> children = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+
+        boolean isFx() {
+            return namespace != null && namespace.startsWith(FX_NAMESPACE);
+        }
+    }
+
+    /**
+     * A compiled instance element, the method constructs the instance
+     */
+    private static class Built {
+        final String method;
+        final Class<?> type;
+
+        Built(String method, Class<?> type) {
+            this.method = method;
+            this.type = type;
+        }
+    }
+
+    private XmlElement parse(InputStream in) throws UnsupportedFXMLException {
+        try {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            List<XmlElement> stack = new ArrayList<>();
+            XmlElement root = null;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        processingInstruction(reader.getPITarget(), reader.getPIData());
+                        break;
+                    case XMLStreamConstants.START_ELEMENT:
+                        XmlElement element = new XmlElement();
+                        element.namespace = reader.getNamespaceURI();
+                        element.name = reader.getLocalName();
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            String namespace = reader.getAttributeNamespace(i);
+                            if (XMLNS_NAMESPACE.equals(namespace))
+                                continue;
+                            if (namespace != null && namespace.startsWith(FX_NAMESPACE))
+                                element.fxAttributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                            else
+                                element.attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                        if (stack.isEmpty())
+                            root = element;
+                        else
+                            stack.get(stack.size() - 1).children.add(element);
+                        stack.add(element);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (!stack.isEmpty())
+                            stack.get(stack.size() - 1).text.append(reader.getText());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        stack.remove(stack.size() - 1);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (root == null)
+                throw new UnsupportedFXMLException("the file is empty");
+            return root;
+        } catch (XMLStreamException e) {
+            throw new UnsupportedFXMLException("the file is not valid XML: " + e.getLocalizedMessage());
+        }
+    }
+
+    private void processingInstruction(String target, String data) throws UnsupportedFXMLException {
+        if ("import".equals(target))
+            imports.add(data.trim());
+        else if ("language".equals(target))
+            throw new UnsupportedFXMLException("scripts are not supported");
+    }
+
+    private Built instance(XmlElement element) throws UnsupportedFXMLException {
+        if (element.isFx())
+            throw new UnsupportedFXMLException("fx:" + element.name + " is not supported");
+        Class<?> type = resolveClass(element.name);
+        Map<String, String> attributes = new LinkedHashMap<>(element.attributes);
+        Map<String, String> fx = new LinkedHashMap<>(element.fxAttributes);
+        String fxId = fx.remove("id");
+        String fxValue = fx.remove("value");
+        String fxConstant = fx.remove("constant");
+        String fxFactory = fx.remove("factory");
+        if (!fx.isEmpty())
+            throw new UnsupportedFXMLException("fx:" + fx.keySet().iterator().next() + " is not supported on " + element.name);
+
+        String method = "n" + counter++;
+        StringBuilder body = new StringBuilder();
+        String expression;
+        if (fxValue != null) {
+            expression = coerce(fxValue, type);
+        } else if (fxConstant != null) {
+            Field constant = findConstant(type, fxConstant);
+            type = constant.getType();
+            expression = typeName(constant.getDeclaringClass()) + "." + fxConstant;
+        } else if (fxFactory != null) {
+            Method factory = findFactory(type, fxFactory);
+            type = factory.getReturnType();
+            expression = typeName(factory.getDeclaringClass()) + "." + fxFactory + "()";
+        } else {
+            expression = construct(type, attributes);
+        }
+        if ((fxValue != null || fxConstant != null || fxFactory != null) && (!attributes.isEmpty() || !element.children.isEmpty()))
+            throw new UnsupportedFXMLException("fx:value, fx:constant and fx:factory cannot have properties");
+
+        String typeName = typeName(type);
+        body.append("        ").append(typeName).append(" node = ").append(expression).append(";\n");
+        if (fxId != null) {
+            if (!attributes.containsKey("id") && findSetter(type, "id") != null)
+                body.append("        node.setId(").append(literal(fxId)).append(");\n");
+            body.append("        binder.register(").append(literal(fxId)).append(", node);\n");
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet())
+            attribute(type, attribute.getKey(), attribute.getValue(), body);
+
+        List<XmlElement> defaultChildren = new ArrayList<>();
+        for (XmlElement child : element.children) {
+            if (child.isFx())
+                throw new UnsupportedFXMLException("fx:" + child.name + " is not supported");
+            if (isStaticProperty(child.name))
+                staticPropertyElement(type, child, body);
+            else if (Character.isLowerCase(child.name.charAt(0)))
+                propertyElement(type, child.name, child.children, child.text.toString(), child, body);
+            else
+                defaultChildren.add(child);
+        }
+        if (!defaultChildren.isEmpty())
+            propertyElement(type, defaultProperty(type), defaultChildren, "", null, body);
+        else if (!element.text.toString().trim().isEmpty())
+            throw new UnsupportedFXMLException("text content is not supported in " + element.name);
+        body.append("        return node;\n");
+
+        methods.append('\n')
+                .append("    private ").append(typeName).append(' ').append(method).append('(').append(BINDER)
+                .append(" binder) throws java.io.IOException {\n")
+                .append(body)
+                .append("    }\n");
+        return new Built(method, type);
+    }
+
+    /**
+     * Returns the expression creating a new instance, the attributes used as constructor arguments are removed
+     */
+    private String construct(Class<?> type, Map<String, String> attributes) throws UnsupportedFXMLException {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()) || type.isInterface())
+            throw new UnsupportedFXMLException(type.getName() + " cannot be instantiated");
+        try {
+            type.getConstructor();
+            return "new " + typeName(type) + "()";
+        } catch (NoSuchMethodException e) {
+            //look for a constructor using @NamedArg like the builders of FXMLLoader
+        }
+        Constructor<?> best = null;
+        String[] bestNames = null;
+        int bestCover = -1;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            String[] names = new String[constructor.getParameterCount()];
+            boolean named = true;
+            for (int i = 0; i < names.length && named; i++) {
+                Annotation namedArg = findAnnotation(constructor.getParameterAnnotations()[i], NAMED_ARG);
+                if (namedArg == null)
+                    named = false;
+                else
+                    names[i] = annotationValue(namedArg, "value");
+            }
+            if (!named)
+                continue;
+            int cover = 0;
+            boolean complete = true;
+            for (String attribute : attributes.keySet()) {
+                if (contains(names, attribute))
+                    cover++;
+                else if (!isStaticProperty(attribute) && findSetter(type, attribute) == null)
+                    complete = false;
+            }
+            if (complete && (cover > bestCover || (cover == bestCover && names.length < bestNames.length))) {
+                best = constructor;
+                bestNames = names;
+                bestCover = cover;
+            }
+        }
+        if (best == null)
+            throw new UnsupportedFXMLException(type.getName() + " has no usable constructor");
+        StringBuilder expression = new StringBuilder("new ").append(typeName(type)).append('(');
+        for (int i = 0; i < bestNames.length; i++) {
+            if (i > 0)
+                expression.append(", ");
+            Class<?> parameter = best.getParameterTypes()[i];
+            String value = attributes.remove(bestNames[i]);
+            if (value == null) {
+                String defaultValue = annotationValue(findAnnotation(best.getParameterAnnotations()[i], NAMED_ARG), "defaultValue");
+                value = defaultValue.isEmpty() ? null : defaultValue;
+            }
+            expression.append(value == null ? defaultLiteral(parameter) : coerce(value, parameter));
+        }
+        return expression.append(')').toString();
+    }
+
+    private void attribute(Class<?> type, String name, String value, StringBuilder body) throws UnsupportedFXMLException {
+        if (isStaticProperty(name)) {
+            int dot = name.lastIndexOf('.');
+            Method setter = findStaticSetter(resolveClass(name.substring(0, dot)), name.substring(dot + 1), type);
+            body.append("        ").append(typeName(setter.getDeclaringClass())).append('.').append(setter.getName())
+                    .append("(node, ").append(coerce(value, setter.getParameterTypes()[1])).append(");\n");
+            return;
+        }
+        Method setter = findSetter(type, name);
+        if (name.startsWith("on") && name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
+            if (!value.startsWith("#"))
+                throw new UnsupportedFXMLException("script event handlers are not supported: " + name);
+            if (setter == null || !setter.getParameterTypes()[0].getName().equals(EVENT_HANDLER))
+                throw new UnsupportedFXMLException("no event handler " + name + " in " + type.getName());
+            body.append("        node.").append(setter.getName()).append("(binder.handler(")
+                    .append(literal(value.substring(1))).append("));\n");
+            return;
+        }
+        if (setter != null) {
+            body.append("        node.").append(setter.getName()).append('(')
+                    .append(coerce(value, setter.getParameterTypes()[0])).append(");\n");
+            return;
+        }
+        Method getter = findGetter(type, name);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            Class<?> elementType = elementType(getter);
+            if (elementType != null && elementType != String.class && elementType != Object.class)
+                throw new UnsupportedFXMLException("cannot add text values to " + name + " of " + type.getName());
+            for (String item : value.split(",")) {
+                body.append("        node.").append(getter.getName()).append("().add(")
+                        .append(coerce(item.trim(), String.class)).append(");\n");
+            }
+            return;
+        }
+        throw new UnsupportedFXMLException("no property " + name + " in " + type.getName());
+    }
+
+    /**
+     * Handles property elements, and the instances placed directly inside an instance element which belong to the default property
+     */
+    private void propertyElement(Class<?> type, String name, List<XmlElement> children, String text, XmlElement element,
+                                 StringBuilder body) throws UnsupportedFXMLException {
+        if (element != null && (!element.attributes.isEmpty() || !element.fxAttributes.isEmpty()))
+            throw new UnsupportedFXMLException("attributes on property element " + name + " are not supported");
+        Method getter = findGetter(type, name);
+        Method setter = findSetter(type, name);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType()) && (setter == null || children.size() != 1)) {
+            if (!text.trim().isEmpty())
+                throw new UnsupportedFXMLException("text content in list property " + name + " is not supported");
+            Class<?> elementType = elementType(getter);
+            for (XmlElement child : children) {
+                Built built = instance(child);
+                if (elementType != null && !isAssignable(elementType, built.type))
+                    throw new UnsupportedFXMLException(built.type.getName() + " cannot be added to " + name + " of " + type.getName());
+                body.append("        node.").append(getter.getName()).append("().add(").append(built.method).append("(binder));\n");
+            }
+            return;
+        }
+        if (setter == null)
+            throw new UnsupportedFXMLException("no property " + name + " in " + type.getName());
+        Class<?> parameter = setter.getParameterTypes()[0];
+        body.append("        node.").append(setter.getName()).append('(').append(value(parameter, children, text, name)).append(");\n");
+    }
+
+    private void staticPropertyElement(Class<?> type, XmlElement element, StringBuilder body) throws UnsupportedFXMLException {
+        if (!element.attributes.isEmpty() || !element.fxAttributes.isEmpty())
+            throw new UnsupportedFXMLException("attributes on property element " + element.name + " are not supported");
+        int dot = element.name.lastIndexOf('.');
+        Method setter = findStaticSetter(resolveClass(element.name.substring(0, dot)), element.name.substring(dot + 1), type);
+        body.append("        ").append(typeName(setter.getDeclaringClass())).append('.').append(setter.getName())
+                .append("(node, ").append(value(setter.getParameterTypes()[1], element.children, element.text.toString(), element.name))
+                .append(");\n");
+    }
+
+    /**
+     * Returns the expression of the value of a property element, either a single instance or a text
+     */
+    private String value(Class<?> parameter, List<XmlElement> children, String text, String name) throws UnsupportedFXMLException {
+        if (children.size() == 1) {
+            Built built = instance(children.get(0));
+            if (!isAssignable(parameter, built.type))
+                throw new UnsupportedFXMLException(built.type.getName() + " cannot be assigned to " + name);
+            return built.method + "(binder)";
+        }
+        if (children.isEmpty() && !text.trim().isEmpty())
+            return coerce(text.trim(), parameter);
+        throw new UnsupportedFXMLException("property " + name + " must have a single value");
+    }
+
+    /**
+     * Converts an attribute value to the Java expression of the required type, like FXMLLoader does at runtime
+     */
+    private String coerce(String value, Class<?> type) throws UnsupportedFXMLException {
+        boolean text = type == String.class || type == Object.class || type == CharSequence.class;
+        if (value.startsWith("%")) {
+            if (!text)
+                throw new UnsupportedFXMLException("resources cannot be assigned to " + type.getName());
+            return "binder.getString(" + literal(value.substring(1)) + ")";
+        }
+        if (value.startsWith("@")) {
+            if (!text)
+                throw new UnsupportedFXMLException("locations cannot be assigned to " + type.getName());
+            return "binder.resolve(" + literal(value.substring(1)) + ")";
+        }
+        if (value.startsWith("$"))
+            throw new UnsupportedFXMLException("expressions and variables are not supported: " + value);
+        if (value.startsWith("\\"))
+            value = value.substring(1);
+        if (text)
+            return literal(value);
+        try {
+            if (type == boolean.class || type == Boolean.class)
+                return String.valueOf(Boolean.parseBoolean(value.trim()));
+            if (type == int.class || type == Integer.class)
+                return String.valueOf(Integer.parseInt(value.trim()));
+            if (type == long.class || type == Long.class)
+                return Long.parseLong(value.trim()) + "L";
+            if (type == short.class || type == Short.class)
+                return "(short) " + Short.parseShort(value.trim());
+            if (type == byte.class || type == Byte.class)
+                return "(byte) " + Byte.parseByte(value.trim());
+            if (type == double.class || type == Double.class)
+                return doubleLiteral(Double.parseDouble(value.trim()));
+            if (type == float.class || type == Float.class)
+                return floatLiteral(Float.parseFloat(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new UnsupportedFXMLException(value + " is not a valid " + type.getSimpleName());
+        }
+        if (type == char.class || type == Character.class) {
+            if (value.length() != 1)
+                throw new UnsupportedFXMLException(value + " is not a valid char");
+            return "'" + escape(value, '\'') + "'";
+        }
+        if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                String constantName = ((Enum<?>) constant).name();
+                if (constantName.equals(value.trim()) || constantName.equals(value.trim().toUpperCase()))
+                    return typeName(type) + "." + constantName;
+            }
+            throw new UnsupportedFXMLException(value + " is not a constant of " + type.getName());
+        }
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType()))
+                return typeName(valueOf.getDeclaringClass()) + ".valueOf(" + literal(value) + ")";
+        } catch (NoSuchMethodException e) {
+            //cannot be converted
+        }
+        throw new UnsupportedFXMLException(value + " cannot be converted to " + type.getName());
+    }
+
+    private Class<?> resolveClass(String name) throws UnsupportedFXMLException {
+        if (name.indexOf('.') >= 0) {
+            Class<?> type = loadQualified(name);
+            if (type != null)
+                return type;
+        } else {
+            for (String imported : imports) {
+                if (!imported.endsWith(".*") && imported.substring(imported.lastIndexOf('.') + 1).equals(name)) {
+                    Class<?> type = loadQualified(imported);
+                    if (type != null)
+                        return type;
+                }
+            }
+            for (String imported : imports) {
+                if (imported.endsWith(".*")) {
+                    Class<?> type = loadQualified(imported.substring(0, imported.length() - 1) + name);
+                    if (type != null)
+                        return type;
+                }
+            }
+        }
+        throw new UnsupportedFXMLException("cannot resolve class " + name);
+    }
+
+    /**
+     * Loads a class by its qualified name, nested classes can be separated by "." as in the source code
+     */
+    private Class<?> loadQualified(String name) {
+        String binaryName = name;
+        while (true) {
+            try {
+                return Class.forName(binaryName, false, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                int dot = binaryName.lastIndexOf('.');
+                if (dot < 0)
+                    return null;
+                binaryName = binaryName.substring(0, dot) + "$" + binaryName.substring(dot + 1);
+            }
+        }
+    }
+
+    private Method findSetter(Class<?> type, String name) throws UnsupportedFXMLException {
+        String setterName = "set" + capitalize(name);
+        Method res = null;
+        for (Method method : type.getMethods()) {
+            if (!method.getName().equals(setterName) || method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers()))
+                continue;
+            if (res == null) {
+                res = method;
+                continue;
+            }
+            //overloaded setter, keep the one matching the getter
+            Method getter = findGetter(type, name);
+            if (getter == null)
+                throw new UnsupportedFXMLException("ambiguous property " + name + " in " + type.getName());
+            if (method.getParameterTypes()[0] == getter.getReturnType())
+                res = method;
+        }
+        return res;
+    }
+
+    private Method findGetter(Class<?> type, String name) {
+        String capitalized = capitalize(name);
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                    && (method.getName().equals("get" + capitalized)
+                    || (method.getName().equals("is" + capitalized) && method.getReturnType() == boolean.class)))
+                return method;
+        }
+        return null;
+    }
+
+    private Method findStaticSetter(Class<?> owner, String name, Class<?> target) throws UnsupportedFXMLException {
+        String setterName = "set" + capitalize(name);
+        for (Method method : owner.getMethods()) {
+            if (method.getName().equals(setterName) && Modifier.isStatic(method.getModifiers())
+                    && method.getParameterCount() == 2 && isAssignable(method.getParameterTypes()[0], target))
+                return method;
+        }
+        throw new UnsupportedFXMLException("no static property " + name + " in " + owner.getName());
+    }
+
+    private Field findConstant(Class<?> type, String name) throws UnsupportedFXMLException {
+        try {
+            Field field = type.getField(name);
+            if (Modifier.isStatic(field.getModifiers()))
+                return field;
+        } catch (NoSuchFieldException e) {
+            //reported below
+        }
+        throw new UnsupportedFXMLException("no constant " + name + " in " + type.getName());
+    }
+
+    private Method findFactory(Class<?> type, String name) throws UnsupportedFXMLException {
+        try {
+            Method method = type.getMethod(name);
+            if (Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class)
+                return method;
+        } catch (NoSuchMethodException e) {
+            //reported below
+        }
+        throw new UnsupportedFXMLException("no factory " + name + " in " + type.getName());
+    }
+
+    private String defaultProperty(Class<?> type) throws UnsupportedFXMLException {
+        Annotation annotation = findAnnotation(type.getAnnotations(), DEFAULT_PROPERTY);
+        if (annotation == null)
+            throw new UnsupportedFXMLException(type.getName() + " has no default property");
+        return annotationValue(annotation, "value");
+    }
+
+    private static Class<?> elementType(Method getter) {
+        Type generic = getter.getGenericReturnType();
+        if (generic instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) generic).getActualTypeArguments();
+            if (arguments.length == 1 && arguments[0] instanceof Class)
+                return (Class<?>) arguments[0];
+        }
+        return null;
+    }
+
+    private static boolean isStaticProperty(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && dot < name.length() - 1 && Character.isLowerCase(name.charAt(dot + 1))
+                && Character.isUpperCase(name.charAt(name.lastIndexOf('.', dot - 1) + 1));
+    }
+
+    private static boolean isAssignable(Class<?> target, Class<?> value) {
+        if (target.isPrimitive())
+            return value == boxed(target) || value == target;
+        return target.isAssignableFrom(value.isPrimitive() ? boxed(value) : value);
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == char.class) return Character.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        return type;
+    }
+
+    private static Annotation findAnnotation(Annotation[] annotations, String name) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().getName().equals(name))
+                return annotation;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the annotations of JavaFX by name, since they are loaded by the class loader of the project
+     */
+    private static String annotationValue(Annotation annotation, String element) throws UnsupportedFXMLException {
+        try {
+            return (String) annotation.annotationType().getMethod(element).invoke(annotation);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new UnsupportedFXMLException("cannot read " + annotation.annotationType().getName());
+        }
+    }
+
+    private static String typeName(Class<?> type) throws UnsupportedFXMLException {
+        if (type.isPrimitive())
+            return type.getName();
+        String name = type.getCanonicalName();
+        if (name == null || !Modifier.isPublic(type.getModifiers()))
+            throw new UnsupportedFXMLException(type.getName() + " is not accessible");
+        return name;
+    }
+
+    private static String defaultLiteral(Class<?> type) throws UnsupportedFXMLException {
+        if (type == boolean.class)
+            return "false";
+        if (type == char.class)
+            return "'\\0'";
+        if (type.isPrimitive())
+            return "(" + type.getName() + ") 0";
+        return "(" + typeName(type) + ") null";
+    }
+
+    private static String doubleLiteral(double value) {
+        if (Double.isNaN(value))
+            return "Double.NaN";
+        if (Double.isInfinite(value))
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        return Double.toString(value);
+    }
+
+    private static String floatLiteral(float value) {
+        if (Float.isNaN(value))
+            return "Float.NaN";
+        if (Float.isInfinite(value))
+            return value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY";
+        return Float.toString(value) + "f";
+    }
+
+    private static String literal(String value) {
+        return "\"" + escape(value, '"') + "\"";
+    }
+
+    private static String escape(String value, char quote) {
+        StringBuilder res = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == quote || c == '\\')
+                res.append('\\').append(c);
+            else if (c == '\n')
+                res.append("\\n");
+            else if (c == '\r')
+                res.append("\\r");
+            else if (c == '\t')
+                res.append("\\t");
+            else if (c < 0x20 || c > 0x7e)
+                res.append(String.format("\\u%04x", (int) c));
+            else
+                res.append(c);
+        }
+        return res.toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static boolean contains(String[] names, String name) {
+        for (String item : names) {
+            if (item.equals(name))
+                return true;
+        }
+        return false;
+    }
+}
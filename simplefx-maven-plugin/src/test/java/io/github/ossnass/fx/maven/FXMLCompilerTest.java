@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx.maven;
+
+import com.sun.source.util.JavacTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FXMLCompilerTest {
+    @TempDir
+    Path dir;
+
+    private FXMLCompiler.CompiledSource compile(String fxmlFile, String className) throws IOException, UnsupportedFXMLException {
+        try (InputStream in = FXMLCompilerTest.class.getResourceAsStream(fxmlFile)) {
+            return new FXMLCompiler(FXMLCompilerTest.class.getClassLoader()).compile(fxmlFile, in, className);
+        }
+    }
+
+    private static void assertContains(String expected, String source) {
+        assertTrue(source.contains(expected), () -> "\"" + expected + "\" not found in:\n" + source);
+    }
+
+    @Test
+    void placesTheViewInThePackageOfTheController() throws Exception {
+        FXMLCompiler.CompiledSource compiled = compile("login.fxml", "LoginFXML");
+        assertEquals("com.example", compiled.packageName);
+        assertEquals("LoginFXML", compiled.className);
+        assertEquals("com.example.LoginFXML", compiled.getQualifiedName());
+        assertContains("package com.example;", compiled.source);
+        assertContains("public final class LoginFXML implements io.github.ossnass.fx.CompiledFXML {", compiled.source);
+        assertContains("return com.example.LoginController.class;", compiled.source);
+    }
+
+    @Test
+    void setsTheProperties() throws Exception {
+        String source = compile("login.fxml", "LoginFXML").source;
+        assertContains("javafx.scene.layout.VBox node = new javafx.scene.layout.VBox();", source);
+        assertContains("node.setSpacing(8.0);", source);
+        assertContains("node.setDefaultButton(true);", source);
+        assertContains("javafx.scene.layout.VBox.setVgrow(node, javafx.scene.layout.Priority.ALWAYS);", source);
+        assertContains("node.getChildren().add(n1(binder));", source);
+        assertContains("node.getChildren().add(n3(binder));", source);
+    }
+
+    @Test
+    void readsTheResourcesFromTheBinder() throws Exception {
+        String source = compile("login.fxml", "LoginFXML").source;
+        assertContains("node.setText(binder.getString(\"login.title\"));", source);
+        assertContains("node.setText(binder.getString(\"login.submit\"));", source);
+        //an escaped "%" is a plain text
+        assertContains("node.setPromptText(\"%user\");", source);
+    }
+
+    @Test
+    void registersTheNodesWithFxId() throws Exception {
+        String source = compile("login.fxml", "LoginFXML").source;
+        assertContains("node.setId(\"user\");", source);
+        assertContains("binder.register(\"user\", node);", source);
+        assertContains("binder.register(\"submit\", node);", source);
+    }
+
+    @Test
+    void bindsTheEventHandlersToTheController() throws Exception {
+        String source = compile("login.fxml", "LoginFXML").source;
+        assertContains("node.setOnAction(binder.handler(\"login\"));", source);
+    }
+
+    @Test
+    void generatesValidJava() throws Exception {
+        FXMLCompiler.CompiledSource compiled = compile("login.fxml", "LoginFXML");
+        Path source = dir.resolve(compiled.className + ".java");
+        Files.write(source, compiled.source.getBytes(StandardCharsets.UTF_8));
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = javac.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavacTask task = (JavacTask) javac.getTask(null, files, diagnostics, List.of("-proc:none"), null,
+                    files.getJavaFileObjects(source));
+            task.parse();
+        }
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+            assertTrue(diagnostic.getKind() != Diagnostic.Kind.ERROR, () -> diagnostic.getMessage(null) + " in:\n" + compiled.source);
+    }
+
+    @Test
+    void includesAreNotSupported() {
+        UnsupportedFXMLException e = assertThrows(UnsupportedFXMLException.class, () -> compile("include.fxml", "IncludeFXML"));
+        assertEquals("fx:include is not supported", e.getMessage());
+    }
+
+    @Test
+    void expressionsAreNotSupported() {
+        assertThrows(UnsupportedFXMLException.class, () -> compile("expression.fxml", "ExpressionFXML"));
+    }
+
+    @Test
+    void scriptEventHandlersAreNotSupported() {
+        assertThrows(UnsupportedFXMLException.class, () -> compile("script.fxml", "ScriptFXML"));
+    }
+
+    @Test
+    void requiresAController() {
+        assertThrows(UnsupportedFXMLException.class, () -> compile("no-controller.fxml", "NoControllerFXML"));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finds the classes annotated with {@code io.github.ossnass.fx.ControllerInfo} at compile time and writes
+ * them to the controller index read by {@code ControlMaster}, so the class path doesn't need to be scanned at startup.
+ * <p>
+ * The index is a UTF-8 text file located at {@value #INDEX_LOCATION}, each line describes one controller
+ * using the following tab separated fields:
+ * <ol>
+ *     <li>The binary name of the controller class</li>
+ *     <li>Id</li>
+ *     <li>FXMLFile</li>
+ * </ol>
+ * The rest of the annotation is read from the class at runtime.
+ * Lines starting with "#" are comments.
+ * <p>
+ * In order to use it, add this artifact to the annotation processor path of your project.
+ */
+@SupportedAnnotationTypes(ControllerIndexProcessor.CONTROLLER_INFO)
+public class ControllerIndexProcessor extends AbstractProcessor {
+    /**
+     * The location of the index in the class output
+     */
+    public static final String INDEX_LOCATION = "META-INF/simplefx/controllers.idx";
+
+    static final String CONTROLLER_INFO = "io.github.ossnass.fx.ControllerInfo";
+
+    private static final String[] FIELDS = {"Id", "FXMLFile"};
+
+    private final Map<String, String[]> entries = new TreeMap<>();
+    private boolean previousIndexLoaded = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!previousIndexLoaded) {
+            previousIndexLoaded = true;
+            loadPreviousIndex();
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "ControllerInfo can only be used on classes", element);
+                    continue;
+                }
+                addEntry((TypeElement) element);
+            }
+        }
+        if (roundEnv.processingOver())
+            writeIndex();
+        return false;
+    }
+
+    private void addEntry(TypeElement type) {
+        AnnotationMirror mirror = findControllerInfo(type);
+        if (mirror == null)
+            return;
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(value.getKey().getSimpleName().toString(), String.valueOf(value.getValue().getValue()));
+        }
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String[] entry = new String[FIELDS.length + 1];
+        entry[0] = className;
+        for (int i = 0; i < FIELDS.length; i++)
+            entry[i + 1] = values.getOrDefault(FIELDS[i], "");
+        for (String field : entry) {
+            if (field.indexOf('\t') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "ControllerInfo values cannot contain tabs or line breaks", type);
+                return;
+            }
+        }
+        entries.put(className, entry);
+    }
+
+    private AnnotationMirror findControllerInfo(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(CONTROLLER_INFO))
+                return mirror;
+        }
+        return null;
+    }
+
+    /**
+     * Incremental builds only pass the changed classes to the processor, so the entries of the index
+     * written by the previous build are kept as long as their classes still exist and are still annotated.
+     */
+    private void loadPreviousIndex() {
+        try {
+            FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#"))
+                        continue;
+                    String[] entry = line.split("\t", -1);
+                    if (entry.length != FIELDS.length + 1)
+                        continue;
+                    TypeElement type = processingEnv.getElementUtils().getTypeElement(entry[0].replace('$', '.'));
+                    if (type != null && findControllerInfo(type) != null)
+                        entries.put(entry[0], entry);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            //no previous index, this is a clean build
+        }
+    }
+
+    private void writeIndex() {
+        if (entries.isEmpty())
+            return;
+        Map<String, String> ids = new HashMap<>();
+        for (String[] entry : entries.values()) {
+            String previous = ids.put(entry[1], entry[0]);
+            if (previous != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        String.format("%s is duplicated in %s and %s", entry[1], previous, entry[0]));
+                return;
+            }
+        }
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by SimpleFX, do not edit\n");
+                for (String[] entry : entries.values()) {
+                    writer.write(String.join("\t", entry));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write the SimpleFX controller index: " + e.getLocalizedMessage());
+        }
+    }
+}
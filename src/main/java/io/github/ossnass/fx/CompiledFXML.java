@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import java.io.IOException;
+
+/**
+ * A view compiled at build time from an FXML file by the SimpleFX maven plugin (simplefx-maven-plugin).
+ * <p>
+ * When a compiled view exists for the {@link ControllerInfo#FXMLFile()} of a controller,
+ * {@link ControlMaster} uses it to construct the nodes instead of parsing the FXML file with {@link javafx.fxml.FXMLLoader}.
+ * <p>
+ * <b>MUST NOT BE IMPLEMENTED BY USER</b>, the implementations are generated.
+ */
+public interface CompiledFXML {
+    /**
+     * Returns the class of the controller declared using fx:controller in the FXML file
+     *
+     * @return the class of the controller
+     */
+    Class<?> getControllerClass();
+
+    /**
+     * Constructs the nodes of the FXML file, injecting the nodes with fx:id and the event handlers into the controller
+     *
+     * @param binder the binder connecting the nodes to the controller and the language
+     * @return the root node of the FXML file
+     * @throws IOException if a resource referenced by the FXML file cannot be resolved
+     */
+    Object build(FXMLBinder binder) throws IOException;
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the views compiled at build time by the SimpleFX maven plugin (simplefx-maven-plugin).
+ * <p>
+ * The plugin writes an index located at {@value #LOCATION}, a UTF-8 text file where each line maps the path
+ * of an FXML file to the class compiled from it, separated by a tab.
+ * <p>
+ * Lines starting with "#" are comments.
+ * <p>
+ * Compiled views are an optimization only, a view that cannot be found or loaded is silently left to FXMLLoader.
+ */
+final class CompiledViews {
+    /**
+     * The location of the index in the class path
+     */
+    static final String LOCATION = "META-INF/simplefx/views.idx";
+
+    private static volatile Map<String, String> index;
+    private static final ConcurrentHashMap<String, Optional<CompiledFXML>> views = new ConcurrentHashMap<>();
+
+    private CompiledViews() {
+    }
+
+    /**
+     * Returns the view compiled from an FXML file
+     *
+     * @param fxmlFile the path of the FXML file as defined by {@link ControllerInfo#FXMLFile()}
+     * @param loader   the class loader used to find the index and load the compiled view
+     * @return the compiled view, null if the FXML file wasn't compiled or the compiled view cannot be loaded
+     */
+    static CompiledFXML find(String fxmlFile, ClassLoader loader) {
+        String path = fxmlFile.startsWith("/") ? fxmlFile.substring(1) : fxmlFile;
+        return views.computeIfAbsent(path, key -> Optional.ofNullable(load(key, loader))).orElse(null);
+    }
+
+    private static CompiledFXML load(String path, ClassLoader loader) {
+        String className = getIndex(loader).get(path);
+        if (className == null)
+            return null;
+        try {
+            //initializing the class opens its package to SimpleFX
+            Class<?> viewClass = Class.forName(className, true, loader);
+            return (CompiledFXML) viewClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            //a stale index or a view compiled for another version of SimpleFX, the FXML file is loaded by FXMLLoader
+            return null;
+        }
+    }
+
+    private static Map<String, String> getIndex(ClassLoader loader) {
+        Map<String, String> res = index;
+        if (res == null) {
+            synchronized (CompiledViews.class) {
+                res = index;
+                if (res == null) {
+                    res = readIndex(loader);
+                    index = res;
+                }
+            }
+        }
+        return res;
+    }
+
+    private static Map<String, String> readIndex(ClassLoader loader) {
+        Map<String, String> res = new HashMap<>();
+        try {
+            Enumeration<URL> indexes = loader.getResources(LOCATION);
+            while (indexes.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isEmpty() || line.startsWith("#"))
+                            continue;
+                        String[] entry = line.split("\t");
+                        if (entry.length == 2)
+                            res.putIfAbsent(entry[0], entry[1]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            //the views of the unreadable index are loaded by FXMLLoader
+        }
+        return res;
+    }
+}
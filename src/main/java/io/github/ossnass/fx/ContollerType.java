@@ -39,7 +39,15 @@ public enum ContollerType {
     /**
      * Initialize the controller on demand, on every call to {@link ControlMaster#getController} returns a new instance
      */
-    MULTIPLE_INSTANCE(ControlMaster.initMulti.get());
+    MULTIPLE_INSTANCE(ControlMaster.initMulti.get()),
+    /**
+     * Initialize the controller on demand and keep it in a pool once its stage is hidden,
+     * on every call to {@link ControlMaster#getController} returns an idle instance from the pool, or a new instance if the pool is empty.
+     * <p>
+     * The size of the pool is defined by {@link ControllerInfo#PoolSize()},
+     * and {@link SimpleController#onRecycle()} is called before the instance is returned to the pool
+     */
+    POOLED(ControlMaster.initPooled.get());
 
     private ControlMaster.ControllerAction action;
 
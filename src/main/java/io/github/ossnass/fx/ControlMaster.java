@@ -30,21 +30,61 @@ import io.github.classgraph.ClassInfoList;
 import io.github.classgraph.ScanResult;
 import io.github.ossnass.fx.exceptions.FXMLIDDuplicationException;
 import io.github.ossnass.fx.exceptions.FXMLNotFoundException;
+import io.github.ossnass.fx.exceptions.NotAnnotatedException;
+import io.github.ossnass.fx.jfr.ControllerLoadEvent;
+import io.github.ossnass.fx.jfr.FXMLLoadEvent;
+import io.github.ossnass.fx.metrics.Counter;
+import io.github.ossnass.fx.metrics.JMXExporter;
+import io.github.ossnass.fx.metrics.Metrics;
+import io.github.ossnass.fx.metrics.Timer;
+import javafx.application.Platform;
+import javafx.beans.binding.StringBinding;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
+import javafx.util.Callback;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The brains behind SimpleFX library.
@@ -59,17 +99,56 @@ import java.util.Locale;
  *     <li>Global CSS: a list exists inside ControlMaster passed to all {@link SimpleController} objects</li>
  *     <li>A local CSS per controller that can be passed using {@link ControllerInfo#CSS()}, which has to be resource bound.</li>
  * </ol>
+ * <p>
+ * Controllers are created through a constructor handle cached per class, on the module path this requires the package
+ * of the controllers to be opened to SimpleFX as well as to javafx.fxml, otherwise {@link FXMLLoader} creates them.
+ * <p>
+ * Besides the class path scan, controllers can be registered by a {@link ControllerProvider} found using
+ * {@link ServiceLoader}, which doesn't need any scan nor the package of the controllers to be opened to SimpleFX.
+ * <p>
+ * If the FXML file of a controller was compiled at build time by the SimpleFX maven plugin (simplefx-maven-plugin),
+ * the compiled view is used to construct the nodes, otherwise the FXML file is loaded using {@link FXMLLoader}.
+ * <p>
+ * The requests, loads and alive instances of each controller are recorded in {@link Metrics},
+ * which are exported to JMX unless disabled using {@link ControlMaster#setJMXMetrics(boolean)}.
+ * <p>
+ * Controllers that stay reachable after being discarded can be found using {@link ControlMaster#setLeakDetection(boolean)}.
+ * <p>
+ * The language can be switched at runtime using {@link ControlMaster#switchLanguage(String)},
+ * which translates the loaded controllers in place.
  */
 public class ControlMaster {
 
-    private static ControlMaster cm;
-    private final HashMap<String, SimpleController> singleInstance_Startup = new HashMap<>();
-    private final HashMap<String, ControllerInfo> contollerInfos = new HashMap<>();
-    private final HashMap<String, Class<? extends SimpleController>> controllerClasses = new HashMap<>();
-    private MultiSourceResourceBundle language = null;
-    private ObservableList<String> csses = FXCollections.observableArrayList(new ArrayList<>());
+    private static final ControlMaster cm = new ControlMaster();
+    private static final ExecutorService loaderPool = Executors.newCachedThreadPool(ControlMaster::newWorker);
+    private final ConcurrentHashMap<String, SimpleController> singleInstance_Startup = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OnDemandEntry> singleInstance_OnDemand = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ControllerInfo> contollerInfos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Class<? extends SimpleController>> controllerClasses = new ConcurrentHashMap<>();
+    private final List<String> pendingStartup = new ArrayList<>();
+    private final ConcurrentHashMap<String, CompletableFuture<SimpleController>> loading = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentLinkedDeque<SimpleController>> pools = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FXMLTemplate> fxmlTemplates = new ConcurrentHashMap<>();
+    private final LongAdder fxmlCacheHits = new LongAdder();
+    private final LongAdder fxmlCacheMisses = new LongAdder();
+    private final ConcurrentHashMap<String, ControllerMetrics> controllerMetrics = new ConcurrentHashMap<>();
+    private volatile MultiSourceResourceBundle language = null;
+    private final ObservableList<String> csses = FXCollections.observableArrayList(new ArrayList<>());
+    private volatile int startupThreads = 1;
+    private volatile int onDemandLimit = 0;
+    private volatile Duration startupTimeSaved = Duration.ZERO;
+    private volatile ScanConfig scanConfig = new ScanConfig();
+    private volatile boolean startupProfiling = false;
+    private volatile StartupProfile startupProfile = null;
+    private volatile boolean jmxMetrics = true;
+    private volatile boolean languageTracking = true;
+    private final Map<SimpleController, Boolean> localizedControllers = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ConcurrentHashMap<String, StringBinding> languageBindings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ResidentLanguage> residentLanguages = new ConcurrentHashMap<>();
+    private final Map<String, String> residentStrings = new HashMap<>();
 
     private ControlMaster() {
+        csses.addListener((ListChangeListener<String>) c -> StylesheetManager.INSTANCE.setGlobals(csses));
     }
 
     /**
@@ -78,21 +157,23 @@ public class ControlMaster {
      * @return the only instance of {@link ControlMaster}
      */
     public static ControlMaster getControlMaster() {
-        if (cm == null)
-            cm = new ControlMaster();
         return cm;
     }
 
-    void addChangeListener(ListChangeListener lcl) {
-        csses.addListener(lcl);
-    }
-
-    void removeChangeListener(ListChangeListener lcl) {
-        csses.removeListener(lcl);
+    /**
+     * Returns the controller factory used by SimpleFX, it can be installed on the {@link FXMLLoader} instances created
+     * by the application so their controllers are created the same way
+     *
+     * @return the controller factory used by SimpleFX
+     */
+    public static Callback<Class<?>, Object> getControllerFactory() {
+        return ControllerFactory.INSTANCE;
     }
 
     /**
      * Returns the extra CSS file to be used by the application
+     * <p>
+     * The changes to the list are applied to the scenes of all the controllers at once on the next pulse.
      *
      * @return the extra CSS file to be used by the application
      */
@@ -115,12 +196,225 @@ public class ControlMaster {
             throw new IllegalArgumentException("The language resource cannot be null");
         }
         language = lang;
+        updateLocale();
+    }
+
+    private void updateLocale() {
+        MultiSourceResourceBundle lang = language;
         Locale.setDefault(new Locale(lang
                 .getString("LANG.SHORT"), lang.getString("LANG.COUNTRY")));
     }
 
     private void setLanguage(String lang) throws IOException {
-        setLanguage(new MultiSourceResourceBundle(new InputStreamReader(new FileInputStream(lang), StandardCharsets.UTF_8)));
+        setLanguage(openLanguage(lang));
+    }
+
+    /**
+     * Returns a new bundle of a resident language without reading it, or reads the language file
+     */
+    private MultiSourceResourceBundle openLanguage(String lang) throws IOException {
+        ResidentLanguage resident = residentLanguages.get(residentKey(lang));
+        if (resident != null)
+            return new MultiSourceResourceBundle(resident.table);
+        return loadLanguage(lang);
+    }
+
+    /**
+     * Returns the values of the language to switch to with the files appended for it, a resident language
+     * already holds them unless files were appended since it was preloaded
+     */
+    private LanguageTable switchTable(String lang) throws IOException {
+        String key = residentKey(lang);
+        ResidentLanguage resident = residentLanguages.get(key);
+        if (resident == null) {
+            LanguageTable table = loadLanguage(lang).table();
+            return MultiSourceResourceBundle.withFragments(table, language.fragmentsOf(table));
+        }
+        List<StringTable> fragments = language.fragmentsOf(resident.table);
+        if (fragments.size() == resident.fragments)
+            return resident.table;
+        //the files appended since the language was preloaded are merged once
+        ResidentLanguage updated = new ResidentLanguage(MultiSourceResourceBundle.withFragments(resident.table,
+                fragments.subList(resident.fragments, fragments.size())), fragments.size());
+        residentLanguages.replace(key, resident, updated);
+        return updated.table;
+    }
+
+    private static String residentKey(String lang) {
+        return Paths.get(lang).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Keeps a language in memory, so switching to it using {@link ControlMaster#switchLanguage(String)}
+     * or initializing the control master with it doesn't read any file.
+     * <p>
+     * The language and its fallbacks are flattened into a single table: a key missing from the language file is
+     * taken from the first fallback containing it. A fallback that is already resident is used with its own fallbacks,
+     * for example:
+     * <pre>{@code
+     * cm.preloadLanguage("en-us.lang");
+     * cm.preloadLanguage("ar-eg.lang", "en-us.lang");
+     * cm.preloadLanguage("ar-sy.lang", "ar-eg.lang");
+     * }</pre>
+     * The strings equal in several resident languages are only kept once.
+     * Preloading a language again replaces it, the languages already using it are not affected.
+     * <p>
+     * The files appended to the current language for the preloaded language are merged into it now, they take
+     * precedence over the fallbacks. The files appended later only fill the keys missing from the language
+     * and its fallbacks, they are merged on the next switch to the language.
+     *
+     * @param languageFile  the path to the language file
+     * @param fallbackFiles the paths to the language files used for the missing keys, in order
+     * @throws IOException if an error occurred while reading the language files
+     */
+    public synchronized void preloadLanguage(String languageFile, String... fallbackFiles) throws IOException {
+        List<LanguageTable> chain = new ArrayList<>(fallbackFiles.length + 1);
+        LanguageTable table = loadLanguage(languageFile).table();
+        chain.add(table);
+        List<StringTable> fragments = language != null ? language.fragmentsOf(table) : Collections.emptyList();
+        chain.addAll(fragments);
+        for (String fallback : fallbackFiles) {
+            ResidentLanguage resident = residentLanguages.get(residentKey(fallback));
+            chain.add(resident != null ? resident.table : loadLanguage(fallback).table());
+        }
+        residentLanguages.put(residentKey(languageFile),
+                new ResidentLanguage(StringTable.flatten(chain, residentStrings), fragments.size()));
+    }
+
+    /**
+     * Returns the paths of the language files kept in memory, see {@link ControlMaster#preloadLanguage(String, String...)}
+     *
+     * @return the absolute paths of the resident language files
+     */
+    public Set<String> getResidentLanguages() {
+        return Collections.unmodifiableSet(residentLanguages.keySet());
+    }
+
+    /**
+     * Removes the languages kept in memory, the current language is not affected
+     */
+    public synchronized void clearResidentLanguages() {
+        residentLanguages.clear();
+        residentStrings.clear();
+    }
+
+    /**
+     * Switches the language of the application without reloading the controllers.
+     * <p>
+     * The texts of the loaded controllers set from the language file by their FXML file are translated,
+     * unless they were changed since, the orientation of the controllers follows the new language,
+     * the titles of the stages are updated and then {@link SimpleController#onLanguageChanged()} is called
+     * for the texts set in code. The bindings returned by {@link ControlMaster#getStringBinding(String)} are invalidated.
+     * <p>
+     * The language file is read on the calling thread unless it is resident, see
+     * {@link ControlMaster#preloadLanguage(String, String...)}, the controllers are updated on the JavaFX application
+     * thread, this method returns once they are updated.
+     * The language files appended to the language using {@link MultiSourceResourceBundle#appendResources(List)} or
+     * {@link MultiSourceResourceBundle#appendResource(java.io.Reader)} are kept, the ones of the new language are merged
+     * into it when it is read, or only once when it is resident.
+     *
+     * @param languageFile the path to the language file of the new language, cannot be null
+     * @throws IOException           if an error occurred while reading the language file
+     * @throws IllegalStateException if the control master is not initialized, or if some controllers failed to
+     *                               update, their exceptions are suppressed and the other controllers are updated
+     */
+    public void switchLanguage(String languageFile) throws IOException {
+        if (language == null)
+            throw new IllegalStateException("The control master is not initialized");
+        LanguageTable next = switchTable(languageFile);
+        runOnFxThread(() -> {
+            applyLanguage(next);
+            return null;
+        });
+    }
+
+    private void applyLanguage(LanguageTable next) {
+        //the bundle is shared by all the controllers, replacing its values translates all of them at once
+        language.replace(next);
+        updateLocale();
+        languageBindings.values().forEach(StringBinding::invalidate);
+        List<SimpleController> controllers;
+        synchronized (localizedControllers) {
+            controllers = new ArrayList<>(localizedControllers.keySet());
+        }
+        //a failing controller doesn't prevent the others from being translated, the failures are reported at the end
+        List<String> failedIds = new ArrayList<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        for (SimpleController controller : controllers)
+            try {
+                controller.languageChanged();
+            } catch (RuntimeException e) {
+                failedIds.add(controller.getId());
+                failures.add(e);
+            }
+        if (!failures.isEmpty()) {
+            IllegalStateException e = new IllegalStateException("Unable to switch the language of the controllers " + failedIds);
+            failures.forEach(e::addSuppressed);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns an observable value of a key of the language file, updated by {@link ControlMaster#switchLanguage(String)}.
+     * <p>
+     * Useful for texts set in code, for example {@code label.textProperty().bind(cm.getStringBinding("KEY"))},
+     * the key itself is returned if the language file does not contain it.
+     *
+     * @param key the key in the language file
+     * @return the binding of the key, the same binding is returned for the same key
+     */
+    public StringBinding getStringBinding(String key) {
+        return languageBindings.computeIfAbsent(key, k -> new StringBinding() {
+            @Override
+            protected String computeValue() {
+                MultiSourceResourceBundle lang = language;
+                return lang != null && lang.containsKey(k) ? lang.getString(k) : k;
+            }
+        });
+    }
+
+    /**
+     * Enables or disables tracking the texts the FXML files of the controllers load from the language file,
+     * which are translated by {@link ControlMaster#switchLanguage(String)}.
+     * <p>
+     * Applies to the controllers loaded from now on, tracking is enabled by default.
+     * When disabled, a language switch only updates the orientation and the titles of the controllers
+     * and calls {@link SimpleController#onLanguageChanged()}.
+     *
+     * @param enabled true to track the texts of the controllers loaded from now on
+     */
+    public void setLanguageTracking(boolean enabled) {
+        languageTracking = enabled;
+    }
+
+    /**
+     * Returns whether the texts loaded from the language file are tracked
+     *
+     * @return true if the texts loaded from the language file are translated by a language switch
+     */
+    public boolean isLanguageTracking() {
+        return languageTracking;
+    }
+
+    /**
+     * Reads a language file, or opens its language pack when it is not older than the file,
+     * the language pack is looked up next to the file then at the root of the class path, see {@link LanguagePackConverter}
+     */
+    private static MultiSourceResourceBundle loadLanguage(String lang) throws IOException {
+        Path file = Paths.get(lang);
+        if (lang.endsWith(LanguagePackConverter.EXTENSION))
+            return MultiSourceResourceBundle.fromLanguagePack(file);
+        Path pack = LanguagePackConverter.packOf(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        if (Files.isRegularFile(pack) && Files.getLastModifiedTime(pack).toMillis() >= modified)
+            return MultiSourceResourceBundle.fromLanguagePack(pack);
+        //written by the compile-lang goal of the maven plugin
+        URL packResource = getClassLoader().getResource(pack.getFileName().toString());
+        if (packResource != null && packResource.openConnection().getLastModified() >= modified)
+            return new MultiSourceResourceBundle(LanguagePack.open(packResource));
+        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(lang), StandardCharsets.UTF_8)) {
+            return new MultiSourceResourceBundle(reader);
+        }
     }
 
     /**
@@ -128,17 +422,234 @@ public class ControlMaster {
      * <p>
      * Defines the language and CSS file and the controller will scour the class path
      * for classes extending {@link SimpleController} and annotated with {@link ControllerInfo}
+     * <p>
+     * If the controller index generated by the SimpleFX annotation processor (simplefx-processor) is present
+     * in the class path, the controllers are read from it instead, and the class path is only scanned when the index
+     * is missing or out of date.
+     * <p>
+     * If {@link ScanCache} is enabled, the results of the class path scans are reused from the previous launch
+     * as long as the class path didn't change.
      *
      * @param languageFile the path to the language file cannot be null
      * @throws IOException in case of error while reading the FXML files
      */
-    public void initControlMaster(String languageFile) throws IOException {
-        setLanguage(languageFile);
-        findControllers();
+    public synchronized void initControlMaster(String languageFile) throws IOException {
+        initControlMaster(languageFile, 1);
+    }
+
+    /**
+     * Initializes the control master, loading the controllers of type {@link ContollerType#SINGLE_INSTANCE_ON_STARTUP}
+     * in parallel.
+     * <p>
+     * The FXML files of the startup controllers are loaded and their nodes are constructed on a pool of worker threads,
+     * only the creation of the {@link Scene} of each controller is done on the JavaFX application thread.
+     * Please notice that in this mode {@link SimpleController#userInit()} of startup controllers is called from the worker threads,
+     * so it must not touch any node that is already shown.
+     * <p>
+     * The wall-clock time saved compared to loading the controllers one after another is available through
+     * {@link ControlMaster#getStartupTimeSaved()}
+     *
+     * @param languageFile   the path to the language file cannot be null
+     * @param startupThreads the number of worker threads used to load the startup controllers,
+     *                       1 or less loads them one after another on the calling thread
+     * @throws IOException in case of error while reading the FXML files
+     */
+    public synchronized void initControlMaster(String languageFile, int startupThreads) throws IOException {
+        initControlMaster(languageFile, startupThreads, scanConfig);
+    }
+
+    /**
+     * Initializes the control master, restricting the class path scans to the packages, modules and jars
+     * defined by the scan configuration, see {@link ControlMaster#initControlMaster(String)}
+     *
+     * @param languageFile the path to the language file cannot be null
+     * @param scanConfig   the restrictions of the class path scans cannot be null
+     * @throws IOException in case of error while reading the FXML files
+     */
+    public synchronized void initControlMaster(String languageFile, ScanConfig scanConfig) throws IOException {
+        initControlMaster(languageFile, startupThreads, scanConfig);
+    }
+
+    /**
+     * Initializes the control master, loading the controllers of type {@link ContollerType#SINGLE_INSTANCE_ON_STARTUP}
+     * in parallel and restricting the class path scans,
+     * see {@link ControlMaster#initControlMaster(String, int)} and {@link ControlMaster#initControlMaster(String, ScanConfig)}
+     *
+     * @param languageFile   the path to the language file cannot be null
+     * @param startupThreads the number of worker threads used to load the startup controllers
+     * @param scanConfig     the restrictions of the class path scans cannot be null
+     * @throws IOException in case of error while reading the FXML files
+     */
+    public synchronized void initControlMaster(String languageFile, int startupThreads, ScanConfig scanConfig) throws IOException {
+        if (scanConfig == null)
+            throw new IllegalArgumentException("The scan configuration cannot be null");
+        this.startupThreads = startupThreads;
+        this.scanConfig = scanConfig;
+        StartupProfiler profiler = startupProfiling ? StartupProfiler.start() : null;
+        try {
+            registerMetrics();
+            ResourceManager.setScanConfig(scanConfig);
+            long phase = System.nanoTime();
+            setLanguage(languageFile);
+            phase = profilePhase("language", phase);
+            ScanCache.load(scanConfig);
+            profilePhase("scan cache load", phase);
+            List<Class<? extends SimpleController>> scanned = findControllers();
+            phase = System.nanoTime();
+            loadStartupControllers();
+            phase = profilePhase("startup controllers", phase);
+            ScanCache.save(scanConfig, scanned);
+            profilePhase("scan cache save", phase);
+        } finally {
+            if (profiler != null)
+                startupProfile = profiler.finish();
+        }
+    }
+
+    /**
+     * Enables the startup profiler, which records the time spent in each phase of
+     * {@link ControlMaster#initControlMaster(String)} and on each startup controller, see {@link StartupProfile}.
+     * <p>
+     * Must be called before initializing the control master, profiling is disabled by default.
+     *
+     * @param enabled true to profile the next initialization
+     */
+    public void setStartupProfiling(boolean enabled) {
+        startupProfiling = enabled;
+    }
+
+    /**
+     * Returns whether the startup profiler is enabled
+     *
+     * @return true if the next initialization is profiled
+     */
+    public boolean isStartupProfiling() {
+        return startupProfiling;
+    }
+
+    /**
+     * Returns the profile of the last initialization, see {@link ControlMaster#setStartupProfiling(boolean)}
+     *
+     * @return the profile of the last initialization, null if it wasn't profiled
+     */
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
+    /**
+     * Enables or disables the export of {@link Metrics} to JMX, see {@link JMXExporter}.
+     * <p>
+     * Must be called before initializing the control master, the export is enabled by default.
+     *
+     * @param enabled true to register the metrics MBean when initializing the control master
+     */
+    public void setJMXMetrics(boolean enabled) {
+        jmxMetrics = enabled;
+    }
+
+    /**
+     * Returns whether the metrics are exported to JMX
+     *
+     * @return true if the metrics MBean is registered when initializing the control master
+     */
+    public boolean isJMXMetrics() {
+        return jmxMetrics;
+    }
+
+    /**
+     * Enables or disables the leak detector, which tracks the controllers loaded from now on until they are
+     * garbage collected, see {@link ControlMaster#checkLeaks()}.
+     * <p>
+     * Meant for diagnostics, leak detection is disabled by default.
+     *
+     * @param enabled true to track the controllers loaded from now on
+     */
+    public void setLeakDetection(boolean enabled) {
+        LeakDetector.setEnabled(enabled);
+    }
+
+    /**
+     * Returns whether the leak detector is enabled
+     *
+     * @return true if the loaded controllers are tracked
+     */
+    public boolean isLeakDetection() {
+        return LeakDetector.isEnabled();
+    }
+
+    /**
+     * Reports the live and closed controllers of each Id tracked by the leak detector,
+     * see {@link ControlMaster#setLeakDetection(boolean)}.
+     * <p>
+     * The closed controllers that are still reachable are reported as suspected leaks along with the known references
+     * keeping them reachable, references kept by the application itself are not detected.
+     * <p>
+     * The controllers are only counted as collected once the garbage collector cleared them, so the caller may request
+     * a garbage collection before checking.
+     * <p>
+     * Should be called from the JavaFX application thread, since the nodes of the controllers are inspected.
+     *
+     * @return the report of the tracked controllers
+     */
+    public LeakReport checkLeaks() {
+        return LeakDetector.report(this::retentionRoots);
+    }
+
+    /**
+     * Finds the known references that keep a closed controller reachable
+     */
+    private List<String> retentionRoots(SimpleController controller) {
+        List<String> res = new ArrayList<>();
+        if (controller.getStage() != null)
+            res.add("the shown/hidden handlers of its stage");
+        if (isShowing(controller.getRoot() == null ? null : controller.getRoot().getScene()))
+            res.add("its root node shown in a window, through the KBSManager key handler");
+        else if (isShowing(controller.getScene()))
+            res.add("its scene shown in a window");
+        if (singleInstance_Startup.containsValue(controller))
+            res.add("the startup controllers of ControlMaster");
+        OnDemandEntry entry = singleInstance_OnDemand.get(controller.getId());
+        if (entry != null && entry.controller == controller)
+            res.add("the on demand controllers of ControlMaster");
+        ConcurrentLinkedDeque<SimpleController> pool = pools.get(controller.getId());
+        if (pool != null && pool.contains(controller))
+            res.add("the pool of ControlMaster");
+        if (res.isEmpty())
+            res.add("unknown, probably a reference kept by the application");
+        return res;
+    }
+
+    private static boolean isShowing(Scene scene) {
+        return scene != null && scene.getWindow() != null && scene.getWindow().isShowing();
+    }
+
+    private void registerMetrics() {
+        Metrics.gauge("fxml.cache.hits", fxmlCacheHits::sum);
+        Metrics.gauge("fxml.cache.misses", fxmlCacheMisses::sum);
+        Metrics.gauge("fxml.cache.size", fxmlTemplates::size);
+        Metrics.gauge("stylesheets.scenes", StylesheetManager.INSTANCE::size);
+        if (jmxMetrics)
+            JMXExporter.register();
+    }
+
+    /**
+     * Returns the wall-clock time saved by loading the startup controllers in parallel,
+     * see {@link ControlMaster#initControlMaster(String, int)}
+     *
+     * @return the time saved by loading the startup controllers in parallel, zero if they were loaded one after another
+     */
+    public Duration getStartupTimeSaved() {
+        return startupTimeSaved;
     }
 
     /**
      * Creates a new Controller based on its ID regardless of its type.
+     * <p>
+     * This method can be called from any thread, concurrent calls for a {@link ContollerType#SINGLE_INSTANCE_ON_DEMAND}
+     * controller that is still being loaded wait for the same load instead of loading it twice,
+     * and looking up an already loaded controller does not lock.
+     * When called from another thread, the FXML file is loaded on the calling thread, then the scene is attached
+     * on the JavaFX application thread, which must not be waiting for the calling thread.
      *
      * @param Id the ID of the controller as defined by {@link ControllerInfo#Id()}
      * @return the controller of the FXML file
@@ -146,82 +657,737 @@ public class ControlMaster {
      * @throws FXMLNotFoundException if the Id doesn't match any controller of any type.
      */
     public SimpleController getController(String Id) throws IOException, FXMLNotFoundException {
-        SimpleController value = null;
-        value = contollerInfos.get(Id).Type().getAction().getController(Id);
+        ControllerInfo info = contollerInfos.get(Id);
+        if (info == null)
+            throw new FXMLNotFoundException(Id);
+        ControllerMetrics metrics = controllerMetrics.get(Id);
+        if (metrics != null)
+            metrics.requests.increment();
+        ControllerLoadEvent event = new ControllerLoadEvent();
+        boolean resident = event.isEnabled() && isResident(info);
+        event.begin();
+        SimpleController value = info.Type().getAction().getController(Id);
+        if (event.shouldCommit()) {
+            event.controllerId = Id;
+            event.controllerType = info.Type().name();
+            event.cacheHit = resident;
+            event.commit();
+        }
         if (value == null) {
             throw new FXMLNotFoundException(Id);
         }
         return value;
     }
 
+    /**
+     * Creates a new Controller based on its ID regardless of its type without blocking the calling thread.
+     * <p>
+     * The FXML file is loaded and its nodes are constructed on a background thread, then the scene is created
+     * and the returned future is completed on the JavaFX application thread.
+     * <p>
+     * For the single instance types the same instance is returned as in {@link ControlMaster#getController(String)},
+     * and concurrent calls for a controller that is still being loaded share the same load.
+     *
+     * @param Id the ID of the controller as defined by {@link ControllerInfo#Id()}
+     * @return a future completed with the controller of the FXML file, or exceptionally with {@link FXMLNotFoundException}
+     * if the Id doesn't match any controller of any type, or with {@link IOException} if an error occurred while reading the FXML file
+     */
+    public CompletableFuture<SimpleController> getControllerAsync(String Id) {
+        return getControllerAsync(Id, loaderPool);
+    }
+
+    /**
+     * Creates a new Controller based on its ID regardless of its type without blocking the calling thread,
+     * see {@link ControlMaster#getControllerAsync(String)}
+     *
+     * @param Id       the ID of the controller as defined by {@link ControllerInfo#Id()}
+     * @param executor the executor used to load the FXML file and construct its nodes
+     * @return a future completed with the controller of the FXML file on the JavaFX application thread
+     */
+    public CompletableFuture<SimpleController> getControllerAsync(String Id, Executor executor) {
+        ControllerInfo info = contollerInfos.get(Id);
+        if (info == null)
+            return CompletableFuture.failedFuture(new FXMLNotFoundException(Id));
+        return info.Type().getAction().getControllerAsync(Id, executor).thenApply(value -> {
+            if (value == null)
+                throw new FXMLNotFoundException(Id);
+            return value;
+        });
+    }
+
+    /**
+     * Checks whether a controller can be returned without loading its FXML file
+     */
+    private boolean isResident(ControllerInfo info) {
+        switch (info.Type()) {
+            case SINGLE_INSTANCE_ON_STARTUP:
+                return true;
+            case SINGLE_INSTANCE_ON_DEMAND:
+                return singleInstance_OnDemand.containsKey(info.Id());
+            case POOLED:
+                ConcurrentLinkedDeque<SimpleController> pool = pools.get(info.Id());
+                return pool != null && !pool.isEmpty();
+            default:
+                return false;
+        }
+    }
+
     private SimpleController loadController(String Id) throws IOException {
+        SimpleController view = loadView(Id);
+        return runOnFxThread(() -> attachScene(view));
+    }
+
+    private CompletableFuture<SimpleController> loadControllerAsync(String Id, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadView(Id);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenApplyAsync(this::attachScene, ControlMaster::runLater);
+    }
+
+    /**
+     * Loads the FXML file of the controller and constructs its nodes, does not need to run on the JavaFX application thread
+     *
+     * @param Id the ID of the controller
+     * @return the controller without a scene
+     * @throws IOException if an error occurred while reading the FXML file
+     */
+    private SimpleController loadView(String Id) throws IOException {
         if (language == null) {
             throw new IllegalArgumentException("Language cannot be null");
         }
-        URL url = ResourceManager.getURL(contollerInfos.get(Id).FXMLFile());
-        FXMLLoader loader = new FXMLLoader(url, language);
+        FXMLLoadEvent event = new FXMLLoadEvent();
+        boolean cached = event.isEnabled() && fxmlTemplates.containsKey(Id);
+        event.begin();
+        long begin = System.nanoTime();
+        FXMLTemplate template = getFXMLTemplate(Id);
+        try {
+            LanguageTracker tracker = languageTracking ? new LanguageTracker(language) : null;
+            SimpleController controller = loadView(Id, template, tracker != null ? tracker : language);
+            if (controller != null) {
+                controller.resources = language;
+                if (tracker != null)
+                    controller.localizedTexts = tracker.collect(controller.getRoot());
+                localizedControllers.put(controller, Boolean.TRUE);
+            }
+            ControllerMetrics metrics = controllerMetrics.get(Id);
+            if (metrics != null && controller != null) {
+                metrics.load.record(System.nanoTime() - begin);
+                metrics.loaded.increment();
+            }
+            if (controller != null && LeakDetector.isEnabled())
+                LeakDetector.track(controller);
+            return controller;
+        } finally {
+            if (event.shouldCommit()) {
+                event.controllerId = Id;
+                event.fxmlFile = contollerInfos.get(Id).FXMLFile();
+                event.cacheHit = cached;
+                event.compiled = template.compiled != null;
+                event.commit();
+            }
+        }
+    }
+
+    private SimpleController loadView(String Id, FXMLTemplate template, ResourceBundle resources) throws IOException {
+        if (template.compiled != null)
+            return buildView(template.compiled, template.url, resources);
+        FXMLLoader loader = new FXMLLoader(template.url, resources);
+        Class<? extends SimpleController> controllerClass = controllerClasses.get(Id);
+        if (ControllerFactory.INSTANCE.supports(controllerClass))
+            loader.setControllerFactory(ControllerFactory.forRoot(loader));
 
-        Pane root = loader.load();
+        //the location is still set so relative paths in the FXML file are resolved as before
+        Pane root = loader.load(new ByteArrayInputStream(template.content));
         if (loader.getController() == null)
             try {
-                loader.setController(controllerClasses.get(Id).getConstructors()[0].newInstance(null));
-            } catch (Exception e) {
-                System.out.println(e.getLocalizedMessage());
+                loader.setController(ControllerFactory.INSTANCE.call(controllerClass));
+            } catch (RuntimeException e) {
+                throw new IOException("Unable to create the controller " + controllerClass.getName() + " of " + Id, e);
             }
-        SimpleController res = (SimpleController) loader.getController();
+        return loader.getController();
+    }
+
+    /**
+     * Returns the resolved FXML file of a controller, reading it on the first load of the controller only
+     *
+     * @param Id the ID of the controller
+     * @return the cached FXML file
+     * @throws IOException if the FXML file cannot be found or read
+     */
+    private FXMLTemplate getFXMLTemplate(String Id) throws IOException {
+        FXMLTemplate template = fxmlTemplates.get(Id);
+        if (template != null) {
+            fxmlCacheHits.increment();
+            return template;
+        }
+        fxmlCacheMisses.increment();
+        String fxmlFile = contollerInfos.get(Id).FXMLFile();
+        URL url = ResourceManager.getURL(fxmlFile);
+        if (url == null)
+            throw new FileNotFoundException(fxmlFile);
+        CompiledFXML compiled = CompiledViews.find(fxmlFile, getClassLoader());
+        byte[] content = null;
+        if (compiled == null)
+            try (InputStream in = url.openStream()) {
+                content = in.readAllBytes();
+            }
+        template = new FXMLTemplate(url, compiled, content);
+        FXMLTemplate cached = fxmlTemplates.putIfAbsent(Id, template);
+        return cached != null ? cached : template;
+    }
+
+    /**
+     * Returns the number of loads that used the cached FXML file of the controller,
+     * without resolving it in the class path nor reading it
+     *
+     * @return the number of loads that used the cached FXML file
+     */
+    public long getFXMLCacheHits() {
+        return fxmlCacheHits.sum();
+    }
+
+    /**
+     * Returns the number of loads that had to resolve the FXML file of the controller in the class path and read it
+     *
+     * @return the number of loads that read the FXML file
+     */
+    public long getFXMLCacheMisses() {
+        return fxmlCacheMisses.sum();
+    }
+
+    /**
+     * Clears the cached FXML files, the next load of each controller reads its FXML file again.
+     * <p>
+     * Useful during development to pick up the changes made to the FXML files without restarting the application,
+     * along with {@link ResourceManager#invalidate()} if new files were added.
+     */
+    public void clearFXMLCache() {
+        fxmlTemplates.clear();
+    }
+
+    /**
+     * Constructs the nodes of the controller using the view compiled at build time instead of {@link FXMLLoader}
+     *
+     * @param compiled  the compiled view
+     * @param url       the URL of the FXML file, used to resolve relative locations
+     * @param resources the language used by the view
+     * @return the controller without a scene
+     * @throws IOException if a resource referenced by the FXML file cannot be resolved
+     */
+    private SimpleController buildView(CompiledFXML compiled, URL url, ResourceBundle resources) throws IOException {
+        SimpleController controller = (SimpleController) ControllerFactory.INSTANCE.call(compiled.getControllerClass());
+        FXMLBinder binder = new FXMLBinder(controller, resources, url);
+        compiled.build(binder);
+        binder.initialize();
+        return controller;
+    }
+
+    /**
+     * Loads the view of an on demand controller unless it is already being loaded, in which case the load in progress
+     * is returned, the entry is removed from the loads in progress once the controller is kept by
+     * {@link ControlMaster#finishOnDemand(String, CompletableFuture, SimpleController)} or the load fails
+     *
+     * @param Id       the ID of the controller
+     * @param executor the executor used to load the FXML file
+     * @return the shared load of the view of the controller
+     */
+    private CompletableFuture<SimpleController> loadOnDemandView(String Id, Executor executor) {
+        CompletableFuture<SimpleController> view = new CompletableFuture<>();
+        CompletableFuture<SimpleController> inFlight = loading.putIfAbsent(Id, view);
+        if (inFlight != null)
+            return inFlight;
+        //a load might have finished between the lookup and registering this one
+        SimpleController value = getOnDemand(Id);
+        if (value != null) {
+            loading.remove(Id, view);
+            view.complete(value);
+            return view;
+        }
+        view.whenComplete((res, error) -> {
+            if (error != null)
+                loading.remove(Id, view);
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    view.complete(loadView(Id));
+                } catch (Throwable e) {
+                    view.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            view.completeExceptionally(e);
+        }
+        return view;
+    }
+
+    /**
+     * Attaches the scene of a loaded on demand controller and keeps it, every caller sharing the same load gets the same controller.
+     * <p>
+     * Must run on the JavaFX application thread once the toolkit is running, since keeping the controller can evict another one.
+     */
+    private SimpleController finishOnDemand(String Id, CompletableFuture<SimpleController> view, SimpleController res) {
+        try {
+            return cacheOnDemand(Id, attachSceneOnce(res));
+        } finally {
+            loading.remove(Id, view);
+        }
+    }
+
+    /**
+     * Places the root pane of the controller in a new scene unless it already has one
+     */
+    private SimpleController attachSceneOnce(SimpleController res) {
+        synchronized (res) {
+            if (res.getScene() == null)
+                attachScene(res);
+        }
+        return res;
+    }
+
+    /**
+     * Places the root pane of the controller in a new scene, must run on the JavaFX application thread once the toolkit is running
+     *
+     * @param res the controller
+     * @return the same controller
+     */
+    private SimpleController attachScene(SimpleController res) {
         Scene scene = new Scene(res.getRoot());
         res.setScene(scene);
         return res;
     }
 
+    private void loadStartupControllers() throws IOException {
+        List<String> ids = new ArrayList<>(pendingStartup);
+        pendingStartup.clear();
+        startupTimeSaved = Duration.ZERO;
+        if (startupThreads <= 1 || ids.size() < 2) {
+            for (String id : ids)
+                singleInstance_Startup.put(id, profiledAttachScene(profiledLoadView(id)));
+            return;
+        }
+        long start = System.nanoTime();
+        long serial = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(startupThreads, ids.size()), ControlMaster::newWorker);
+        try {
+            List<Future<SimpleController>> views = new ArrayList<>(ids.size());
+            long[] durations = new long[ids.size()];
+            for (int i = 0; i < ids.size(); i++) {
+                String id = ids.get(i);
+                int slot = i;
+                views.add(pool.submit(() -> {
+                    long begin = System.nanoTime();
+                    SimpleController view = profiledLoadView(id);
+                    durations[slot] = System.nanoTime() - begin;
+                    return view;
+                }));
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                SimpleController view = await(views.get(i));
+                long begin = System.nanoTime();
+                singleInstance_Startup.put(ids.get(i), runOnFxThread(() -> profiledAttachScene(view)));
+                serial += durations[i] + System.nanoTime() - begin;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        startupTimeSaved = Duration.ofNanos(Math.max(0, serial - (System.nanoTime() - start)));
+    }
+
+    /**
+     * Loads the view of a startup controller, recording its load time and resource lookups when the startup is profiled
+     */
+    private SimpleController profiledLoadView(String Id) throws IOException {
+        StartupProfiler profiler = StartupProfiler.active();
+        if (profiler == null)
+            return loadView(Id);
+        long begin = System.nanoTime();
+        profiler.enterController(Id);
+        try {
+            return loadView(Id);
+        } finally {
+            profiler.exitController();
+            profiler.addLoad(Id, System.nanoTime() - begin);
+        }
+    }
+
+    private SimpleController profiledAttachScene(SimpleController view) {
+        StartupProfiler profiler = StartupProfiler.active();
+        if (profiler == null)
+            return attachScene(view);
+        long begin = System.nanoTime();
+        profiler.enterController(view.getId());
+        try {
+            return attachScene(view);
+        } finally {
+            profiler.exitController();
+            profiler.addScene(view.getId(), System.nanoTime() - begin);
+        }
+    }
+
+    private static long profilePhase(String name, long begin) {
+        StartupProfiler profiler = StartupProfiler.active();
+        return profiler == null ? begin : profiler.phase(name, begin);
+    }
+
+    private static Thread newWorker(Runnable task) {
+        Thread thread = new Thread(task, "SimpleFX loader");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Runs the task on the JavaFX application thread and waits for it,
+     * if the toolkit is not running the task is executed on the calling thread.
+     */
+    private static <T> T runOnFxThread(Callable<T> task) throws IOException {
+        FutureTask<T> future = new FutureTask<>(task);
+        if (Platform.isFxApplicationThread())
+            future.run();
+        else
+            try {
+                Platform.runLater(future);
+            } catch (IllegalStateException e) {
+                future.run();
+            }
+        return await(future);
+    }
+
+    static void runLater(Runnable task) {
+        try {
+            Platform.runLater(task);
+        } catch (IllegalStateException e) {
+            task.run();
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getLocalizedMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Limits the number of {@link ContollerType#SINGLE_INSTANCE_ON_DEMAND} controllers kept in memory.
+     * <p>
+     * Once the limit is exceeded, the least recently requested controllers that are not shown on a stage are evicted,
+     * {@link SimpleController#onEvict()} is called so they can save their state,
+     * and they are loaded again on the next call to {@link ControlMaster#getController(String)}.
+     *
+     * @param maxControllers the maximum number of on demand controllers kept in memory, 0 or less for no limit (the default)
+     */
+    public void setOnDemandLimit(int maxControllers) {
+        onDemandLimit = maxControllers;
+        runLater(() -> evictOnDemand(null));
+    }
+
+    /**
+     * Returns the maximum number of {@link ContollerType#SINGLE_INSTANCE_ON_DEMAND} controllers kept in memory
+     *
+     * @return the maximum number of on demand controllers kept in memory, 0 or less if there is no limit
+     */
+    public int getOnDemandLimit() {
+        return onDemandLimit;
+    }
+
+    private SimpleController getOnDemand(String Id) {
+        OnDemandEntry entry = singleInstance_OnDemand.get(Id);
+        if (entry == null)
+            return null;
+        entry.lastUsed = System.nanoTime();
+        return entry.controller;
+    }
+
+    /**
+     * Keeps a newly loaded on demand controller, if another instance was kept in the meantime that instance is returned
+     */
+    private SimpleController cacheOnDemand(String Id, SimpleController controller) {
+        OnDemandEntry entry = new OnDemandEntry(controller);
+        OnDemandEntry loaded = singleInstance_OnDemand.putIfAbsent(Id, entry);
+        if (loaded != null) {
+            loaded.lastUsed = System.nanoTime();
+            return loaded.controller;
+        }
+        evictOnDemand(Id);
+        return controller;
+    }
+
+    /**
+     * Evicts the least recently requested on demand controllers above the limit,
+     * must run on the JavaFX application thread once the toolkit is running since the stages of the controllers are cleared
+     *
+     * @param keep the Id of the controller that must not be evicted, null if none
+     */
+    private void evictOnDemand(String keep) {
+        int limit = onDemandLimit;
+        if (limit <= 0)
+            return;
+        while (singleInstance_OnDemand.size() > limit) {
+            Map.Entry<String, OnDemandEntry> lru = null;
+            for (Map.Entry<String, OnDemandEntry> entry : singleInstance_OnDemand.entrySet()) {
+                if (entry.getKey().equals(keep) || entry.getValue().isShowing())
+                    continue;
+                if (lru == null || entry.getValue().lastUsed < lru.getValue().lastUsed)
+                    lru = entry;
+            }
+            if (lru == null)
+                return;
+            if (singleInstance_OnDemand.remove(lru.getKey(), lru.getValue())) {
+                SimpleController controller = lru.getValue().controller;
+                controller.onEvict();
+                if (controller.getStage() != null)
+                    controller.setStage(null);
+                controller.release();
+            }
+        }
+    }
+
+    /**
+     * Returns a {@link ContollerType#POOLED} controller to its pool once its stage is hidden,
+     * the controller is discarded if the pool is full
+     *
+     * @param controller the controller
+     */
+    void recycle(SimpleController controller) {
+        controller.onRecycle();
+        if (controller.getStage() != null)
+            controller.setStage(null);
+        ConcurrentLinkedDeque<SimpleController> pool = pools.get(controller.getId());
+        if (pool != null && pool.size() < controller.info.PoolSize())
+            pool.offerFirst(controller);
+        else
+            controller.release();
+    }
+
+    /**
+     * Counts a discarded controller in the metrics of its Id, called by {@link SimpleController#release()}
+     *
+     * @param controller the discarded controller
+     */
+    void released(SimpleController controller) {
+        localizedControllers.remove(controller);
+        ControllerMetrics metrics = controllerMetrics.get(controller.getId());
+        if (metrics != null)
+            metrics.released.increment();
+    }
+
+    /**
+     * Counts a discarded controller as alive again, called when its stage is shown again
+     *
+     * @param controller the controller shown again
+     */
+    void reopened(SimpleController controller) {
+        localizedControllers.put(controller, Boolean.TRUE);
+        ControllerMetrics metrics = controllerMetrics.get(controller.getId());
+        if (metrics != null)
+            metrics.released.decrement();
+    }
+
     private void addController(ControllerInfo info, Class<? extends SimpleController> controllerClass) throws IOException {
         String filename = info.FXMLFile();
+        controllerMetrics.computeIfAbsent(info.Id(), ControllerMetrics::new);
 
         URL url = ResourceManager.getURL(contollerInfos.get(info.Id()).FXMLFile());
 
         controllerClasses.put(info.Id(), controllerClass);
+        //loading the compiled view first opens the package of the controller to SimpleFX
+        CompiledFXML compiled = CompiledViews.find(info.FXMLFile(), getClassLoader());
+        //resolves and caches the constructor of the controller before its first load
+        ControllerFactory.INSTANCE.supports(compiled != null ? compiled.getControllerClass() : controllerClass);
         info.Type().getAction().addController(info, url, controllerClass);
     }
 
-    private void findControllers() throws IOException {
+    /**
+     * Registers the controllers of the {@link ControllerProvider}s, merged with the controllers from
+     * the controller index, the scan cache or a class path scan in that order
+     *
+     * @return the controllers if they were found by scanning the class path, null otherwise
+     */
+    private List<Class<? extends SimpleController>> findControllers() throws IOException {
+        List<Class<? extends SimpleController>> scanned = null;
+        long phase = System.nanoTime();
+        Set<Class<? extends SimpleController>> classes = new LinkedHashSet<>(loadProviders());
+        phase = profilePhase("controller providers", phase);
+        List<Class<? extends SimpleController>> indexed = ControllerIndex.read(getClassLoader());
+        phase = profilePhase("controller index", phase);
+        if (indexed != null)
+            classes.addAll(indexed);
+        //the class path entries without an index still have to be scanned
+        List<Class<? extends SimpleController>> found = ScanCache.readControllers(getClassLoader());
+        phase = profilePhase("scan cache controllers", phase);
+        if (found == null && !scanConfig.isScanningDisabled()) {
+            found = scanned = scanControllers(indexed != null);
+            phase = profilePhase("class path scan", phase);
+        }
+        if (found != null)
+            classes.addAll(found);
+        for (Class<? extends SimpleController> controllerClass : classes) {
+            ControllerInfo ci = controllerClass.getAnnotation(ControllerInfo.class);
+            if (ci == null)
+                throw new NotAnnotatedException(controllerClass.getName());
+            if (controllerClasses.containsKey(ci.Id())) {
+                throw new FXMLIDDuplicationException(ci.Id());
+            }
+            contollerInfos.put(ci.Id(), ci);
+            addController(ci, controllerClass);
+        }
+        profilePhase("controller registration", phase);
+        return scanned;
+    }
 
-        try (ScanResult res = new ClassGraph().enableAnnotationInfo().scan()) {
-            ClassInfoList cil = res.getClassesWithAnnotation(ControllerInfo.class.getCanonicalName());
-            for (ClassInfo cinfo : cil) {
-                ControllerInfo ci = (ControllerInfo) cinfo.getAnnotationInfo(ControllerInfo.class.getCanonicalName()).loadClassAndInstantiate();
-                if (controllerClasses.containsKey(ci.Id())) {
-                    throw new FXMLIDDuplicationException(ci.Id());
+    /**
+     * Registers the controllers of the {@link ControllerProvider}s
+     *
+     * @return the controllers of the providers
+     * @throws IOException if a provider cannot be loaded, the errors of the other broken providers are suppressed
+     */
+    private List<Class<? extends SimpleController>> loadProviders() throws IOException {
+        List<Class<? extends SimpleController>> res = new ArrayList<>();
+        List<ServiceConfigurationError> errors = new ArrayList<>();
+        Iterator<ControllerProvider> providers = ServiceLoader.load(ControllerProvider.class, getClassLoader()).iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext())
+                    break;
+                ControllerProvider provider = providers.next();
+                for (Class<? extends SimpleController> controllerClass : provider.getControllers()) {
+                    ControllerFactory.INSTANCE.register(controllerClass, provider);
+                    res.add(controllerClass);
                 }
-                contollerInfos.put(ci.Id(), ci);
-                addController(ci, (Class<? extends SimpleController>) cinfo.loadClass());
+            } catch (ServiceConfigurationError e) {
+                //keeps loading the other providers so all the broken ones are reported at once
+                errors.add(e);
             }
         }
+        if (!errors.isEmpty()) {
+            IOException e = new IOException("Unable to load the controller providers", errors.get(0));
+            for (int i = 1; i < errors.size(); i++)
+                e.addSuppressed(errors.get(i));
+            throw e;
+        }
+        return res;
+    }
 
+    /**
+     * Scans the class path for the controllers
+     *
+     * @param skipIndexed true to skip the class path entries having a controller index, see {@link ControllerIndex}
+     * @return the controllers found
+     */
+    private List<Class<? extends SimpleController>> scanControllers(boolean skipIndexed) {
+        List<Class<? extends SimpleController>> res = new ArrayList<>();
+        ScanConfig config = scanConfig;
+        ClassGraph classGraph = config.applyTo(new ClassGraph().enableAnnotationInfo());
+        if (skipIndexed)
+            classGraph.rejectClasspathElementsContainingResourcePath(ControllerIndex.LOCATION);
+        try (ScanResult scan = classGraph.scan(config.getThreads())) {
+            ClassInfoList cil = scan.getClassesWithAnnotation(ControllerInfo.class.getCanonicalName());
+            for (ClassInfo cinfo : cil) {
+                res.add((Class<? extends SimpleController>) cinfo.loadClass());
+            }
+        }
+        return res;
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : ControlMaster.class.getClassLoader();
+    }
+
+    /**
+     * A language kept in memory, with the number of appended files merged into it
+     */
+    private static final class ResidentLanguage {
+        final LanguageTable table;
+        final int fragments;
 
+        ResidentLanguage(LanguageTable table, int fragments) {
+            this.table = table;
+            this.fragments = fragments;
+        }
+    }
+
+    private static final class OnDemandEntry {
+        final SimpleController controller;
+        volatile long lastUsed = System.nanoTime();
+
+        OnDemandEntry(SimpleController controller) {
+            this.controller = controller;
+        }
+
+        boolean isShowing() {
+            return controller.getStage() != null && controller.getStage().isShowing();
+        }
+    }
+
+    /**
+     * The FXML file of a controller as resolved on its first load, either compiled at build time or its raw content
+     */
+    private static final class FXMLTemplate {
+        final URL url;
+        final CompiledFXML compiled;
+        final byte[] content;
+
+        FXMLTemplate(URL url, CompiledFXML compiled, byte[] content) {
+            this.url = url;
+            this.compiled = compiled;
+            this.content = content;
+        }
+    }
+
+    /**
+     * The metrics of a controller, resolved once when the controller is registered
+     */
+    private static final class ControllerMetrics {
+        final Counter requests;
+        final Timer load;
+        final LongAdder loaded = new LongAdder();
+        final LongAdder released = new LongAdder();
+
+        ControllerMetrics(String Id) {
+            requests = Metrics.counter("controllers." + Id + ".requests");
+            load = Metrics.timer("controllers." + Id + ".load");
+            Metrics.gauge("controllers." + Id + ".alive", () -> loaded.sum() - released.sum());
+        }
     }
 
     interface ControllerAction {
         void addController(ControllerInfo info, URL url, Class<? extends SimpleController> controllerClass) throws IOException;
 
         SimpleController getController(String id) throws IOException;
+
+        CompletableFuture<SimpleController> getControllerAsync(String id, Executor executor);
     }
 
     static class initOnceStartup implements ControllerAction {
 
-        private static initOnceStartup instance;
+        private static final initOnceStartup instance = new initOnceStartup();
 
         private initOnceStartup() {
         }
 
         public static ControllerAction get() {
-            if (instance == null)
-                instance = new initOnceStartup();
             return instance;
         }
 
         @Override
         public void addController(ControllerInfo info, URL url, Class<? extends SimpleController> controllerClass) throws IOException {
-            ControlMaster.getControlMaster().singleInstance_Startup.put(info.Id(), ControlMaster.getControlMaster().loadController(info.Id()));
+            ControlMaster.getControlMaster().pendingStartup.add(info.Id());
         }
 
         @Override
@@ -229,19 +1395,22 @@ public class ControlMaster {
             return ControlMaster.getControlMaster().singleInstance_Startup.get(id);
         }
 
+        @Override
+        public CompletableFuture<SimpleController> getControllerAsync(String id, Executor executor) {
+            return CompletableFuture.completedFuture(ControlMaster.getControlMaster().singleInstance_Startup.get(id));
+        }
+
     }
 
     static class initOnceOnDemand implements ControllerAction {
 
 
-        private static initOnceOnDemand instance;
+        private static final initOnceOnDemand instance = new initOnceOnDemand();
 
         private initOnceOnDemand() {
         }
 
         public static ControllerAction get() {
-            if (instance == null)
-                instance = new initOnceOnDemand();
             return instance;
         }
 
@@ -252,26 +1421,35 @@ public class ControlMaster {
 
         @Override
         public SimpleController getController(String Id) throws IOException {
-            SimpleController value = null;
-            value = ControlMaster.getControlMaster().singleInstance_Startup.get(Id);
-            if (value == null) {
-                value = ControlMaster.getControlMaster().loadController(Id);
-                ControlMaster.getControlMaster().singleInstance_Startup.put(Id, value);
-            }
-            return value;
+            ControlMaster cm = ControlMaster.getControlMaster();
+            SimpleController value = cm.getOnDemand(Id);
+            if (value != null)
+                return value;
+            //loads on the calling thread, or waits for the load already in progress
+            CompletableFuture<SimpleController> view = cm.loadOnDemandView(Id, Runnable::run);
+            SimpleController res = await(view);
+            return runOnFxThread(() -> cm.finishOnDemand(Id, view, res));
+        }
+
+        @Override
+        public CompletableFuture<SimpleController> getControllerAsync(String Id, Executor executor) {
+            ControlMaster cm = ControlMaster.getControlMaster();
+            SimpleController value = cm.getOnDemand(Id);
+            if (value != null)
+                return CompletableFuture.completedFuture(value);
+            CompletableFuture<SimpleController> view = cm.loadOnDemandView(Id, executor);
+            return view.thenApplyAsync(res -> cm.finishOnDemand(Id, view, res), ControlMaster::runLater);
         }
     }
 
     static class initMulti implements ControllerAction {
 
-        private static initMulti instance;
+        private static final initMulti instance = new initMulti();
 
         private initMulti() {
         }
 
         public static ControllerAction get() {
-            if (instance == null)
-                instance = new initMulti();
             return instance;
         }
 
@@ -284,6 +1462,43 @@ public class ControlMaster {
         public SimpleController getController(String Id) throws IOException {
             return ControlMaster.getControlMaster().loadController(Id);
         }
+
+        @Override
+        public CompletableFuture<SimpleController> getControllerAsync(String Id, Executor executor) {
+            return ControlMaster.getControlMaster().loadControllerAsync(Id, executor);
+        }
     }
-}
 
+    static class initPooled implements ControllerAction {
+
+        private static final initPooled instance = new initPooled();
+
+        private initPooled() {
+        }
+
+        public static ControllerAction get() {
+            return instance;
+        }
+
+        @Override
+        public void addController(ControllerInfo info, URL url, Class<? extends SimpleController> controllerClass) throws IOException {
+            ControlMaster.getControlMaster().pools.putIfAbsent(info.Id(), new ConcurrentLinkedDeque<>());
+        }
+
+        @Override
+        public SimpleController getController(String Id) throws IOException {
+            SimpleController value = ControlMaster.getControlMaster().pools.get(Id).pollFirst();
+            if (value == null)
+                value = ControlMaster.getControlMaster().loadController(Id);
+            return value;
+        }
+
+        @Override
+        public CompletableFuture<SimpleController> getControllerAsync(String Id, Executor executor) {
+            SimpleController value = ControlMaster.getControlMaster().pools.get(Id).pollFirst();
+            if (value != null)
+                return CompletableFuture.completedFuture(value);
+            return ControlMaster.getControlMaster().loadControllerAsync(Id, executor);
+        }
+    }
+}
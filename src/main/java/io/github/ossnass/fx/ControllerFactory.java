@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import javafx.fxml.FXMLLoader;
+import javafx.util.Callback;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The controller factory installed on every {@link javafx.fxml.FXMLLoader} created by {@link ControlMaster}.
+ * <p>
+ * The no-arg constructor of each class is resolved once into a {@link MethodHandle} and cached per class,
+ * so creating a controller skips the reflective lookups done by the default {@link javafx.fxml.FXMLLoader} behavior.
+ * <p>
+ * On the module path, the package of the controller must be exported or opened to SimpleFX,
+ * otherwise the controller is left to the default behavior of {@link javafx.fxml.FXMLLoader}.
+ * <p>
+ * Controllers registered by a {@link ControllerProvider} are created by their provider first.
+ * <p>
+ * The factory only creates the controller of the root of an FXML file, see {@link ControllerFactory#forRoot(FXMLLoader)},
+ * the controllers of the files included using fx:include are left to {@link javafx.fxml.FXMLLoader}.
+ */
+final class ControllerFactory implements Callback<Class<?>, Object> {
+    /**
+     * The only instance of the factory
+     */
+    static final ControllerFactory INSTANCE = new ControllerFactory();
+
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(void.class);
+    private static final MethodType FACTORY = MethodType.methodType(Object.class);
+
+    private final ClassValue<Optional<MethodHandle>> constructors = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return Optional.ofNullable(findConstructor(type));
+        }
+    };
+    private final ConcurrentHashMap<Class<?>, ControllerProvider> providers = new ConcurrentHashMap<>();
+
+    private ControllerFactory() {
+    }
+
+    /**
+     * Lets a provider create the instances of one of its controllers
+     *
+     * @param type     the controller class
+     * @param provider the provider of the controller
+     */
+    void register(Class<? extends SimpleController> type, ControllerProvider provider) {
+        providers.put(type, provider);
+    }
+
+    /**
+     * Returns the factory to install on a loader, it creates the controller of the root of the FXML file then removes
+     * itself from the loader.
+     * <p>
+     * The loaders of fx:include copy the factory of their parent when they are created, which happens after the root
+     * controller is created, so the included controllers are created by {@link javafx.fxml.FXMLLoader} as if SimpleFX
+     * wasn't used and their packages only need to be opened to javafx.fxml.
+     *
+     * @param loader the loader of the FXML file
+     * @return the factory of the root controller
+     */
+    static Callback<Class<?>, Object> forRoot(FXMLLoader loader) {
+        return type -> {
+            loader.setControllerFactory(null);
+            return INSTANCE.call(type);
+        };
+    }
+
+    /**
+     * Checks whether instances of the class can be created by this factory, either by its provider
+     * or by its constructor which is resolved and cached
+     *
+     * @param type the controller class
+     * @return true if the factory can create instances of the class
+     */
+    boolean supports(Class<?> type) {
+        return providers.containsKey(type) || constructors.get(type).isPresent();
+    }
+
+    /**
+     * Creates a new instance of the class using its provider if any, otherwise using its no-arg constructor
+     *
+     * @param type the class of the controller
+     * @return the new instance
+     * @throws IllegalStateException if the provider of the class returns null
+     */
+    @Override
+    public Object call(Class<?> type) {
+        ControllerProvider provider = providers.get(type);
+        if (provider != null) {
+            Object res = provider.newController(type.asSubclass(SimpleController.class));
+            if (res == null)
+                throw new IllegalStateException(provider.getClass().getName() + " returned no instance of " + type.getName());
+            return res;
+        }
+        MethodHandle constructor = constructors.get(type).orElse(null);
+        try {
+            if (constructor == null)
+                return type.getDeclaredConstructor().newInstance();
+            return (Object) constructor.invokeExact();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create an instance of " + type.getName() + ", the package "
+                    + type.getPackageName() + " must be opened to simplefx", e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create an instance of " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> type) {
+        Module module = ControllerFactory.class.getModule();
+        if (!module.canRead(type.getModule()))
+            module.addReads(type.getModule());
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return lookup.findConstructor(type, CONSTRUCTOR).asType(FACTORY);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            //the constructor is not public or the package is only opened to SimpleFX
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return lookup.unreflectConstructor(constructor).asType(FACTORY);
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ex) {
+                return null;
+            }
+        }
+    }
+}
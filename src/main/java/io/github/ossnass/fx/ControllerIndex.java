@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the controller index generated at compile time by the SimpleFX annotation processor (simplefx-processor).
+ * <p>
+ * The index is a UTF-8 text file located at {@value #LOCATION}, each line describes one controller
+ * using the tab separated fields: class name, Id and FXMLFile.
+ * The Id and the FXML file are compared to the annotation of the class to detect a stale index,
+ * the FXML file is also used by the maven plugin to find the files to compile.
+ * <p>
+ * Lines starting with "#" are comments.
+ * <p>
+ * The index only lists the controllers of the class path entries built with the processor,
+ * the other entries are still scanned, see {@link ControlMaster}.
+ */
+class ControllerIndex {
+    /**
+     * The location of the index in the class path
+     */
+    static final String LOCATION = "META-INF/simplefx/controllers.idx";
+
+    private static final int FIELDS = 3;
+
+    private ControllerIndex() {
+    }
+
+    /**
+     * Reads all the controller indexes found in the class path.
+     * <p>
+     * If the index is missing or doesn't match the compiled classes (a class is missing, is not a controller or
+     * its {@link ControllerInfo#Id()} or {@link ControllerInfo#FXMLFile()} changed), null is returned so the caller can fall back to scanning the class path.
+     *
+     * @param loader the class loader used to find the indexes and load the controllers
+     * @return the controller classes in the index, null if there is no valid index
+     * @throws IOException in case of error while reading the index
+     */
+    static List<Class<? extends SimpleController>> read(ClassLoader loader) throws IOException {
+        Map<String, String[]> entries = new LinkedHashMap<>();
+        Enumeration<URL> indexes = loader.getResources(LOCATION);
+        while (indexes.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#"))
+                        continue;
+                    String[] entry = line.split("\t", -1);
+                    if (entry.length != FIELDS)
+                        return null;
+                    entries.putIfAbsent(entry[0], entry);
+                }
+            }
+        }
+        if (entries.isEmpty())
+            return null;
+        List<Class<? extends SimpleController>> res = new ArrayList<>(entries.size());
+        for (String[] entry : entries.values()) {
+            Class<?> controllerClass;
+            try {
+                controllerClass = Class.forName(entry[0], false, loader);
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+            ControllerInfo info = controllerClass.getAnnotation(ControllerInfo.class);
+            if (!SimpleController.class.isAssignableFrom(controllerClass) || info == null || !info.Id().equals(entry[1])
+                    || !info.FXMLFile().equals(entry[2]))
+                return null;
+            res.add(controllerClass.asSubclass(SimpleController.class));
+        }
+        return res;
+    }
+}
@@ -78,4 +78,12 @@ public @interface ControllerInfo {
      * @return a special CSS for this controller, empty string if otherwise
      */
     String CSS() default "";
+
+    /**
+     * The maximum number of idle controllers kept in the pool, only used with {@link ContollerType#POOLED}.
+     *
+     * Optional
+     * @return the maximum number of idle controllers kept in the pool
+     */
+    int PoolSize() default 4;
 }
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.List;
+
+/**
+ * Registers controllers with {@link ControlMaster} without scanning the class path.
+ * <p>
+ * Providers are found using {@link java.util.ServiceLoader}, on the module path they are declared in the module-info
+ * of the application:
+ * <pre>
+ * module com.example {
+ *     requires simplefx;
+ *     provides io.github.ossnass.fx.ControllerProvider with com.example.gui.Controllers;
+ * }
+ * </pre>
+ * and on the class path in the file "META-INF/services/io.github.ossnass.fx.ControllerProvider".
+ * <p>
+ * The controllers of all the providers are merged with the ones read from the controller index or found by scanning
+ * the class path, to rely on the providers only, disable the scan using {@link ScanConfig#disableScanning()}.
+ * <p>
+ * A provider that cannot be loaded makes {@link ControlMaster#initControlMaster(String)} throw an {@link java.io.IOException}.
+ * <p>
+ * Since the provider creates the controllers in its own module, the package of the controllers doesn't need to be
+ * opened to SimpleFX, however it must still be opened to javafx.fxml for the injection of the @FXML fields
+ * unless the FXML files are compiled by the SimpleFX maven plugin.
+ */
+public interface ControllerProvider {
+    /**
+     * Returns the controllers of this provider, each one must be annotated with {@link ControllerInfo}
+     *
+     * @return the controller classes
+     */
+    List<Class<? extends SimpleController>> getControllers();
+
+    /**
+     * Creates a new instance of one of the controllers returned by {@link ControllerProvider#getControllers()}
+     * <p>
+     * The controllers of a provider are always created by this method, since their package may not be opened to SimpleFX.
+     *
+     * @param controllerClass the class of the controller
+     * @return the new controller, never null
+     */
+    SimpleController newController(Class<? extends SimpleController> controllerClass);
+}
@@ -0,0 +1,268 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connects the nodes constructed by a {@link CompiledFXML} to their controller and to the language,
+ * following the same rules as {@link javafx.fxml.FXMLLoader}:
+ * <ul>
+ *     <li>Nodes with fx:id are injected into the public or {@link FXML} annotated fields of the controller with the same name</li>
+ *     <li>Event handlers "#name" call the public or {@link FXML} annotated method of the controller with the same name</li>
+ *     <li>The "resources" and "location" fields are injected and "initialize()" is called once the nodes are constructed</li>
+ * </ul>
+ * <p>
+ * <b>MUST NOT BE USED BY USER</b>, it is used by the generated code.
+ */
+public final class FXMLBinder {
+    private static final MethodType HANDLER = MethodType.methodType(void.class, Event.class);
+    private static final Map<Class<?>, Map<String, Optional<MethodHandle>>> setters = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, Optional<MethodHandle>>> handlers = new ConcurrentHashMap<>();
+
+    private final Object controller;
+    private final ResourceBundle resources;
+    private final URL location;
+    private final Map<String, Object> namespace = new HashMap<>();
+    private MethodHandles.Lookup lookup;
+
+    FXMLBinder(Object controller, ResourceBundle resources, URL location) {
+        this.controller = controller;
+        this.resources = resources;
+        this.location = location;
+    }
+
+    /**
+     * Gives the binder access to the package of the compiled view, must be called first by the generated code
+     *
+     * @param lookup the lookup of the compiled view
+     */
+    public void setLookup(MethodHandles.Lookup lookup) {
+        if (this.lookup != null)
+            throw new IllegalStateException("The lookup is already set");
+        this.lookup = lookup;
+        inject("resources", resources);
+        inject("location", location);
+    }
+
+    /**
+     * Returns the value of "%key" attributes
+     *
+     * @param key the key in the language file
+     * @return the value of the key in the language file
+     */
+    public String getString(String key) {
+        return resources.getString(key);
+    }
+
+    /**
+     * Returns the value of "@location" attributes, resolved relatively to the FXML file,
+     * or relatively to the class path if it starts with "/"
+     *
+     * @param path the location of the resource
+     * @return the URL of the resource
+     * @throws IOException if the resource cannot be found
+     */
+    public String resolve(String path) throws IOException {
+        URL url;
+        if (path.startsWith("/")) {
+            url = ResourceManager.getURL(path);
+            if (url == null)
+                throw new IOException(path + " not found");
+        } else
+            url = new URL(location, path);
+        return url.toExternalForm();
+    }
+
+    /**
+     * Registers a node with fx:id and injects it into the controller
+     *
+     * @param id    the fx:id of the node
+     * @param value the node
+     * @param <T>   the type of the node
+     * @return the same node
+     */
+    public <T> T register(String id, T value) {
+        namespace.put(id, value);
+        inject(id, value);
+        return value;
+    }
+
+    /**
+     * Returns the event handler of "#name" attributes
+     *
+     * @param name the name of the controller method
+     * @param <T>  the type of the event
+     * @return the event handler calling the method of the controller
+     */
+    public <T extends Event> EventHandler<T> handler(String name) {
+        MethodHandle method = handlers.computeIfAbsent(controller.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, this::findHandler)
+                .orElseThrow(() -> new IllegalStateException(String.format("Event handler %s not found in %s", name, controller.getClass().getName())));
+        MethodHandle bound = method.bindTo(controller);
+        return event -> {
+            try {
+                bound.invokeExact((Event) event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Returns the nodes registered with fx:id
+     *
+     * @return the nodes registered with fx:id
+     */
+    Map<String, Object> getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Calls the initialization method of the controller once the nodes are constructed
+     */
+    void initialize() {
+        if (controller instanceof Initializable) {
+            ((Initializable) controller).initialize(location, resources);
+            return;
+        }
+        for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Method method = type.getDeclaredMethod("initialize");
+                if (!isInjectable(method.getModifiers(), method.isAnnotationPresent(FXML.class)))
+                    return;
+                invoke(lookupFor(type).unreflect(method));
+                return;
+            } catch (NoSuchMethodException e) {
+                //keep looking in the super class
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to call initialize() of " + controller.getClass().getName(), e);
+            }
+        }
+    }
+
+    private void invoke(MethodHandle initialize) {
+        try {
+            initialize.invoke(controller);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void inject(String name, Object value) {
+        Optional<MethodHandle> setter = setters.computeIfAbsent(controller.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, this::findSetter);
+        if (setter.isEmpty())
+            return;
+        try {
+            setter.get().invoke(controller, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Optional<MethodHandle> findSetter(String name) {
+        for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                if (Modifier.isStatic(field.getModifiers()) || !isInjectable(field.getModifiers(), field.isAnnotationPresent(FXML.class)))
+                    return Optional.empty();
+                return Optional.of(lookupFor(type).unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+            } catch (NoSuchFieldException e) {
+                //keep looking in the super class
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(String.format("Unable to inject %s into %s", name, controller.getClass().getName()), e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<MethodHandle> findHandler(String name) {
+        for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            Method noArgs = null;
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.getName().equals(name) || Modifier.isStatic(method.getModifiers())
+                        || !isInjectable(method.getModifiers(), method.isAnnotationPresent(FXML.class)))
+                    continue;
+                try {
+                    Class<?>[] parameters = method.getParameterTypes();
+                    if (parameters.length == 1 && Event.class.isAssignableFrom(parameters[0]))
+                        return Optional.of(lookupFor(type).unreflect(method).asType(MethodType.methodType(void.class, Object.class, Event.class)));
+                    if (parameters.length == 0)
+                        noArgs = method;
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(String.format("Unable to access %s of %s", name, controller.getClass().getName()), e);
+                }
+            }
+            if (noArgs != null) {
+                try {
+                    MethodHandle method = lookupFor(type).unreflect(noArgs).asType(MethodType.methodType(void.class, Object.class));
+                    return Optional.of(MethodHandles.dropArguments(method, 1, Event.class));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(String.format("Unable to access %s of %s", name, controller.getClass().getName()), e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The members of SimpleFX classes are accessed directly, the members of the user classes are accessed through
+     * the lookup of the compiled view, which belongs to the same module
+     */
+    private MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+        if (type.getModule() == FXMLBinder.class.getModule() && type.getPackageName().equals(FXMLBinder.class.getPackageName()))
+            return MethodHandles.lookup();
+        return MethodHandles.privateLookupIn(type, lookup);
+    }
+
+    private static boolean isInjectable(int modifiers, boolean annotated) {
+        return annotated || Modifier.isPublic(modifiers);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The result of appending several language files at once, see
+ * {@link MultiSourceResourceBundle#appendResources(List)}.
+ * <p>
+ * For each source the report tells whether it was merged, the number of keys it added and the time taken to read it.
+ * A key already in the language, or in an earlier source, keeps its value: each different value of a later source
+ * is reported as a conflict.
+ */
+public final class LanguageMergeReport {
+    private final List<SourceResult> sources;
+    private final List<Conflict> conflicts;
+    private final long readNanos;
+    private final long mergeNanos;
+
+    LanguageMergeReport(List<SourceResult> sources, List<Conflict> conflicts, long readNanos, long mergeNanos) {
+        this.sources = Collections.unmodifiableList(new ArrayList<>(sources));
+        this.conflicts = Collections.unmodifiableList(new ArrayList<>(conflicts));
+        this.readNanos = readNanos;
+        this.mergeNanos = mergeNanos;
+    }
+
+    /**
+     * Returns the result of each source
+     *
+     * @return the results in the order of the sources
+     */
+    public List<SourceResult> getSources() {
+        return sources;
+    }
+
+    /**
+     * Returns the keys whose value was ignored because the key was already defined
+     *
+     * @return the conflicts in the order of the sources, then of the keys
+     */
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the time taken to read all the sources in parallel
+     *
+     * @return the time taken to read the sources in nanoseconds
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * Returns the time taken to merge the sources into the language
+     *
+     * @return the time taken to merge the sources in nanoseconds
+     */
+    public long getMergeNanos() {
+        return mergeNanos;
+    }
+
+    /**
+     * Returns the number of keys added to the language
+     *
+     * @return the number of keys added by all the sources
+     */
+    public int getAddedKeys() {
+        int res = 0;
+        for (SourceResult source : sources)
+            res += source.addedKeys;
+        return res;
+    }
+
+    /**
+     * Formats the report as human readable text
+     *
+     * @return the report as text
+     */
+    public String toText() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format(Locale.ROOT, "SimpleFX language files: %d keys added, read in %.3f ms, merged in %.3f ms%n",
+                getAddedKeys(), readNanos / 1e6, mergeNanos / 1e6));
+        res.append(String.format(Locale.ROOT, "  %-40s %8s %8s %10s%n", "source", "merged", "added", "read (ms)"));
+        for (SourceResult source : sources)
+            res.append(String.format(Locale.ROOT, "  %-40s %8s %8d %10.3f%n", source.name, source.merged ? "yes" : "no",
+                    source.addedKeys, source.readNanos / 1e6));
+        for (SourceResult source : sources)
+            if (!source.merged)
+                res.append(String.format(Locale.ROOT, "Rejected %s: %s%n", source.name, source.reason));
+        if (!conflicts.isEmpty()) {
+            res.append("Conflicts:\n");
+            for (Conflict conflict : conflicts)
+                res.append(String.format(Locale.ROOT, "  %s: kept \"%s\" from %s, ignored \"%s\" from %s%n", conflict.key,
+                        conflict.keptValue, conflict.keptSource == null ? "the language" : conflict.keptSource,
+                        conflict.ignoredValue, conflict.ignoredSource));
+        }
+        return res.toString();
+    }
+
+    /**
+     * The result of a source
+     */
+    public static final class SourceResult {
+        private final String name;
+        private final boolean merged;
+        private final String reason;
+        private final int addedKeys;
+        private final long readNanos;
+
+        SourceResult(String name, boolean merged, String reason, int addedKeys, long readNanos) {
+            this.name = name;
+            this.merged = merged;
+            this.reason = reason;
+            this.addedKeys = addedKeys;
+            this.readNanos = readNanos;
+        }
+
+        /**
+         * Returns the name of the source
+         *
+         * @return the name of the source
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns whether the source was merged, a source is rejected when it is written for another language
+         *
+         * @return true if the source was merged
+         */
+        public boolean isMerged() {
+            return merged;
+        }
+
+        /**
+         * Returns why the source was rejected
+         *
+         * @return the reason of the rejection, null if the source was merged
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Returns the number of keys the source added to the language
+         *
+         * @return the number of keys added
+         */
+        public int getAddedKeys() {
+            return addedKeys;
+        }
+
+        /**
+         * Returns the time taken to read the source
+         *
+         * @return the time taken to read the source in nanoseconds
+         */
+        public long getReadNanos() {
+            return readNanos;
+        }
+    }
+
+    /**
+     * A key defined with different values
+     */
+    public static final class Conflict {
+        private final String key;
+        private final String keptSource;
+        private final String keptValue;
+        private final String ignoredSource;
+        private final String ignoredValue;
+
+        Conflict(String key, String keptSource, String keptValue, String ignoredSource, String ignoredValue) {
+            this.key = key;
+            this.keptSource = keptSource;
+            this.keptValue = keptValue;
+            this.ignoredSource = ignoredSource;
+            this.ignoredValue = ignoredValue;
+        }
+
+        /**
+         * Returns the key
+         *
+         * @return the key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the source of the value kept
+         *
+         * @return the name of the source, null if the key was already in the language
+         */
+        public String getKeptSource() {
+            return keptSource;
+        }
+
+        /**
+         * Returns the value kept
+         *
+         * @return the value kept
+         */
+        public String getKeptValue() {
+            return keptValue;
+        }
+
+        /**
+         * Returns the source of the value ignored
+         *
+         * @return the name of the source
+         */
+        public String getIgnoredSource() {
+            return ignoredSource;
+        }
+
+        /**
+         * Returns the value ignored
+         *
+         * @return the value ignored
+         */
+        public String getIgnoredValue() {
+            return ignoredValue;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A language pack written by {@link LanguagePackConverter}, mapped in memory.
+ * <p>
+ * Opening a pack only reads its header, a lookup hashes the key, compares it with the UTF-8 bytes of the candidate
+ * keys in place, and decodes the value on its first lookup only, so the startup time and the memory used don't grow
+ * with the number of strings of the language.
+ * <p>
+ * The keys are only decoded when the whole key set is requested.
+ */
+final class LanguagePack implements LanguageTable {
+    private static final int PAGE_BITS = 8;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int mask;
+    private final int slotsStart;
+    private final int entriesStart;
+    private final int blobStart;
+    private final String[][] decoded;
+    private volatile Set<String> keySet;
+
+    private LanguagePack(ByteBuffer buffer, Object file) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < LanguagePackConverter.HEADER_SIZE || buffer.getInt(0) != LanguagePackConverter.MAGIC)
+            throw new IOException(file + " is not a language pack");
+        if (buffer.getInt(4) != LanguagePackConverter.VERSION)
+            throw new IOException(file + " has an unsupported language pack version " + buffer.getInt(4));
+        count = buffer.getInt(8);
+        int capacity = buffer.getInt(12);
+        if (count < 0 || capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IOException(file + " is a corrupted language pack");
+        mask = capacity - 1;
+        slotsStart = LanguagePackConverter.HEADER_SIZE;
+        entriesStart = slotsStart + capacity * 4;
+        blobStart = entriesStart + count * LanguagePackConverter.ENTRY_SIZE;
+        if (blobStart > buffer.limit())
+            throw new IOException(file + " is a corrupted language pack");
+        decoded = new String[(count >>> PAGE_BITS) + 1][];
+    }
+
+    /**
+     * Maps a language pack in memory, the file must not be modified while it is used
+     *
+     * @param file the language pack
+     * @return the language pack
+     * @throws IOException if the file cannot be read or is not a language pack
+     */
+    static LanguagePack open(Path file) throws IOException {
+        //the mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new LanguagePack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    /**
+     * Opens a language pack found in the class path, mapped in memory if it is a file,
+     * otherwise read at once since the entries of a jar cannot be mapped
+     *
+     * @param url the language pack
+     * @return the language pack
+     * @throws IOException if the resource cannot be read or is not a language pack
+     */
+    static LanguagePack open(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return open(Paths.get(url.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                //read as any other resource
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return new LanguagePack(ByteBuffer.wrap(in.readAllBytes()), url);
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        int index = indexOf(key);
+        if (index < 0)
+            return null;
+        String[] page = decoded[index >>> PAGE_BITS];
+        if (page == null) {
+            //a page lost to a concurrent lookup only costs decoding its values again
+            page = new String[1 << PAGE_BITS];
+            decoded[index >>> PAGE_BITS] = page;
+        }
+        int slot = index & ((1 << PAGE_BITS) - 1);
+        String value = page[slot];
+        if (value == null) {
+            int entry = entriesStart + index * LanguagePackConverter.ENTRY_SIZE;
+            value = decode(buffer.getInt(entry + 12), buffer.getInt(entry + 16));
+            page[slot] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> res = keySet;
+        if (res == null) {
+            String[] keys = new String[count];
+            for (int i = 0; i < count; i++) {
+                int entry = entriesStart + i * LanguagePackConverter.ENTRY_SIZE;
+                keys[i] = decode(buffer.getInt(entry + 4), buffer.getInt(entry + 8));
+            }
+            res = new KeySet(keys);
+            keySet = res;
+        }
+        return res;
+    }
+
+    /**
+     * Decodes the pack into a {@link StringTable} with the new entries, since a pack cannot be changed
+     */
+    @Override
+    public LanguageTable merge(Map<?, ?> entries) {
+        Map<String, String> all = new HashMap<>(count + entries.size());
+        for (String key : keySet())
+            all.put(key, get(key));
+        return StringTable.of(all).merge(entries);
+    }
+
+    private int indexOf(String key) {
+        int hash = key.hashCode();
+        int slot = StringTable.spread(hash) & mask;
+        int index;
+        while ((index = buffer.getInt(slotsStart + slot * 4)) != 0) {
+            int entry = entriesStart + (index - 1) * LanguagePackConverter.ENTRY_SIZE;
+            if (buffer.getInt(entry) == hash && keyEquals(buffer.getInt(entry + 4), buffer.getInt(entry + 8), key))
+                return index - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Compares UTF-8 bytes of the pack with a key without decoding them to a string
+     */
+    private boolean keyEquals(int offset, int length, String key) {
+        int i = 0;
+        int n = key.length();
+        int pos = blobStart + offset;
+        int end = pos + length;
+        while (pos < end) {
+            int b = buffer.get(pos) & 0xFF;
+            int codePoint;
+            if (b < 0x80) {
+                codePoint = b;
+                pos++;
+            } else if (b < 0xE0) {
+                codePoint = (b & 0x1F) << 6 | buffer.get(pos + 1) & 0x3F;
+                pos += 2;
+            } else if (b < 0xF0) {
+                codePoint = (b & 0x0F) << 12 | (buffer.get(pos + 1) & 0x3F) << 6 | buffer.get(pos + 2) & 0x3F;
+                pos += 3;
+            } else {
+                codePoint = (b & 0x07) << 18 | (buffer.get(pos + 1) & 0x3F) << 12 | (buffer.get(pos + 2) & 0x3F) << 6
+                        | buffer.get(pos + 3) & 0x3F;
+                pos += 4;
+            }
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (i >= n || key.charAt(i++) != codePoint)
+                    return false;
+            } else if (i + 1 >= n || key.charAt(i++) != Character.highSurrogate(codePoint)
+                    || key.charAt(i++) != Character.lowSurrogate(codePoint)) {
+                return false;
+            }
+        }
+        return i == n;
+    }
+
+    private String decode(int offset, int length) {
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.position(blobStart + offset).limit(blobStart + offset + length);
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        private final List<String> list;
+
+        KeySet(String[] keys) {
+            list = Collections.unmodifiableList(Arrays.asList(keys));
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return list.iterator();
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && indexOf((String) o) >= 0;
+        }
+    }
+}
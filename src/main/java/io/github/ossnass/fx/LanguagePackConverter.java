@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Converts language files to language packs, a binary format opened by
+ * {@link MultiSourceResourceBundle#fromLanguagePack(Path)} without reading the whole file.
+ * <p>
+ * A language pack is made of a header, the hash index of the keys, an entry per key with the offsets of
+ * its key and value, and the UTF-8 bytes of the keys and values, equal values are stored once.
+ * <p>
+ * When a language file passed to {@link ControlMaster#initControlMaster(String)} has a language pack next to it
+ * or at the root of the class path that is not older than the file, the language pack is used instead,
+ * see {@link LanguagePackConverter#packOf(Path)}.
+ * <p>
+ * The converter can be run from the command line:
+ * <pre>
+ * java -cp simplefx.jar io.github.ossnass.fx.LanguagePackConverter en-us.lang [en-us.langpack]
+ * </pre>
+ * or at build time using the compile-lang goal of simplefx-maven-plugin.
+ */
+public final class LanguagePackConverter {
+    /**
+     * The extension of language packs
+     */
+    public static final String EXTENSION = ".langpack";
+
+    static final int MAGIC = 0x53464C50;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 20;
+
+    private LanguagePackConverter() {
+    }
+
+    /**
+     * Converts a language file to a language pack
+     *
+     * @param languageFile the language file, encoded in UTF-8
+     * @param pack         the language pack to write, replaced if it exists
+     * @throws IOException if the language file cannot be read or the language pack cannot be written
+     */
+    public static void convert(Path languageFile, Path pack) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(languageFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        write(properties, pack);
+    }
+
+    /**
+     * Returns the language pack of a language file, "en-us.lang" becomes "en-us.langpack"
+     *
+     * @param languageFile the language file
+     * @return the path of its language pack in the same directory
+     */
+    public static Path packOf(Path languageFile) {
+        String name = languageFile.getFileName().toString();
+        if (name.endsWith(".lang"))
+            name = name.substring(0, name.length() - ".lang".length());
+        return languageFile.resolveSibling(name + EXTENSION);
+    }
+
+    /**
+     * Writes entries to a language pack, the file is replaced atomically
+     *
+     * @param entries the entries, the keys and values are converted to strings
+     * @param pack    the language pack to write
+     * @throws IOException if the language pack cannot be written
+     */
+    public static void write(Map<?, ?> entries, Path pack) throws IOException {
+        Path dir = pack.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, pack.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                write(entries, out);
+            }
+            Files.move(tmp, pack, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void write(Map<?, ?> entries, OutputStream stream) throws IOException {
+        Map<String, String> values = new HashMap<>(entries.size());
+        for (Map.Entry<?, ?> entry : entries.entrySet())
+            values.put(entry.getKey().toString(), entry.getValue().toString());
+        String[] keys = values.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        int[] slots = StringTable.index(keys);
+
+        ByteArrayOutputStream blob = new ByteArrayOutputStream();
+        Map<String, Integer> valueOffsets = new HashMap<>();
+        int[] entryData = new int[keys.length * 5];
+        for (int i = 0; i < keys.length; i++) {
+            byte[] key = keys[i].getBytes(StandardCharsets.UTF_8);
+            entryData[i * 5] = keys[i].hashCode();
+            entryData[i * 5 + 1] = blob.size();
+            entryData[i * 5 + 2] = key.length;
+            blob.write(key);
+            String value = values.get(keys[i]);
+            byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            Integer offset = valueOffsets.get(value);
+            if (offset == null) {
+                offset = blob.size();
+                valueOffsets.put(value, offset);
+                blob.write(valueBytes);
+            }
+            entryData[i * 5 + 3] = offset;
+            entryData[i * 5 + 4] = valueBytes.length;
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(keys.length);
+        out.writeInt(slots.length);
+        for (int slot : slots)
+            out.writeInt(slot);
+        for (int data : entryData)
+            out.writeInt(data);
+        blob.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Converts a language file from the command line
+     *
+     * @param args the language file, and optionally the language pack
+     * @throws IOException if the conversion fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: LanguagePackConverter <language file> [language pack]");
+            System.exit(1);
+        }
+        Path languageFile = Paths.get(args[0]);
+        Path pack = args.length == 2 ? Paths.get(args[1]) : packOf(languageFile);
+        convert(languageFile, pack);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * A language file appended to a language using {@link MultiSourceResourceBundle#appendResources(java.util.List)}.
+ * <p>
+ * The files and URLs are opened and closed when they are read, the readers and input streams are read
+ * but not closed, like {@link MultiSourceResourceBundle#appendResource(Reader)}.
+ */
+public final class LanguageSource {
+    private final String name;
+    private final Loader loader;
+
+    private LanguageSource(String name, Loader loader) {
+        this.name = Objects.requireNonNull(name, "The name of the source cannot be null");
+        this.loader = loader;
+    }
+
+    /**
+     * A language file encoded in UTF-8
+     *
+     * @param file the path of the language file
+     * @return the source of the file, named after its path
+     */
+    public static LanguageSource of(Path file) {
+        return new LanguageSource(file.toString(), properties -> {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        });
+    }
+
+    /**
+     * A language file encoded in UTF-8, for example a resource returned by {@link ResourceManager#getURL(String)}
+     *
+     * @param url the URL of the language file
+     * @return the source of the URL, named after the URL
+     */
+    public static LanguageSource of(URL url) {
+        return new LanguageSource(url.toExternalForm(), properties -> {
+            try (Reader reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        });
+    }
+
+    /**
+     * A language file read from a reader, which is not closed
+     *
+     * @param name   the name of the source used in the report
+     * @param reader the language file reader
+     * @return the source of the reader
+     */
+    public static LanguageSource of(String name, Reader reader) {
+        Objects.requireNonNull(reader, "The reader cannot be null");
+        return new LanguageSource(name, properties -> properties.load(reader));
+    }
+
+    /**
+     * A language file read from an input stream encoded in ISO-8859-1, which is not closed
+     *
+     * @param name   the name of the source used in the report
+     * @param stream the language file input stream
+     * @return the source of the input stream
+     */
+    public static LanguageSource of(String name, InputStream stream) {
+        Objects.requireNonNull(stream, "The input stream cannot be null");
+        return new LanguageSource(name, properties -> properties.load(stream));
+    }
+
+    /**
+     * Returns the name of the source, used in the report
+     *
+     * @return the name of the source
+     */
+    public String getName() {
+        return name;
+    }
+
+    Properties read() throws IOException {
+        Properties properties = new Properties();
+        loader.load(properties);
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private interface Loader {
+        void load(Properties properties) throws IOException;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The keys and values of a language held by {@link MultiSourceResourceBundle}, immutable
+ */
+interface LanguageTable {
+    /**
+     * Returns the value of a key
+     *
+     * @param key the key
+     * @return the value of the key, null if the table doesn't contain it
+     */
+    String get(String key);
+
+    boolean containsKey(String key);
+
+    int size();
+
+    /**
+     * Returns the keys of the table, the same immutable set on every call
+     *
+     * @return the keys of the table in ascending order
+     */
+    Set<String> keySet();
+
+    /**
+     * Creates a new table with the entries of this table, and the entries of the map whose key is not in this table
+     *
+     * @param entries the entries to add, the keys and values are converted to strings
+     * @return the new table
+     */
+    LanguageTable merge(Map<?, ?> entries);
+}
@@ -0,0 +1,232 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import javafx.beans.property.StringProperty;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Accordion;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ComboBoxBase;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuBar;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.SplitPane;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TableColumnBase;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.control.TitledPane;
+import javafx.scene.control.ToolBar;
+import javafx.scene.control.Tooltip;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * Records the "%key" values of an FXML file while it is loaded, so they can be translated when the language is switched,
+ * see {@link ControlMaster#switchLanguage(String)}.
+ * <p>
+ * The tracker is passed to the loader as the resources, each value it returns is a distinct string instance,
+ * once loaded the text properties of the nodes holding one of these instances are the ones set from the language file.
+ * A text changed by the controller holds another instance, so it is never overwritten by a language switch.
+ * <p>
+ * The text of a {@link TextInputControl} is not tracked: it is stored as content and each read returns a new string,
+ * it is also edited by the user, so only its prompt text is translated.
+ */
+final class LanguageTracker extends ResourceBundle {
+    private final ResourceBundle language;
+    private final Map<String, String> keys = new IdentityHashMap<>();
+
+    LanguageTracker(ResourceBundle language) {
+        this.language = language;
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+        if (!language.containsKey(key))
+            return null;
+        //a copy is needed to tell the values apart by identity
+        String value = new String(language.getString(key));
+        synchronized (keys) {
+            keys.put(value, key);
+        }
+        return value;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+        return language.getKeys();
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return language.containsKey(key);
+    }
+
+    /**
+     * Finds the text properties of the nodes that were set from the language file
+     *
+     * @param root the root node of the FXML file
+     * @return the translated texts, empty if the FXML file doesn't use the language file
+     */
+    List<LocalizedText> collect(Node root) {
+        synchronized (keys) {
+            if (keys.isEmpty())
+                return Collections.emptyList();
+        }
+        List<LocalizedText> res = new ArrayList<>();
+        collect(root, res, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return res;
+    }
+
+    private void collect(Object item, List<LocalizedText> res, Set<Object> visited) {
+        if (item == null || !visited.add(item))
+            return;
+        if (item instanceof Node)
+            collectNode((Node) item, res, visited);
+        else if (item instanceof MenuItem) {
+            MenuItem menuItem = (MenuItem) item;
+            check(menuItem.textProperty(), res);
+            collect(menuItem.getGraphic(), res, visited);
+            if (menuItem instanceof Menu)
+                collectAll(((Menu) menuItem).getItems(), res, visited);
+        } else if (item instanceof Tab) {
+            Tab tab = (Tab) item;
+            check(tab.textProperty(), res);
+            collect(tab.getTooltip(), res, visited);
+            collect(tab.getContextMenu(), res, visited);
+            collect(tab.getGraphic(), res, visited);
+            collect(tab.getContent(), res, visited);
+        } else if (item instanceof TableColumnBase) {
+            TableColumnBase<?, ?> column = (TableColumnBase<?, ?>) item;
+            check(column.textProperty(), res);
+            collect(column.getGraphic(), res, visited);
+            collect(column.getContextMenu(), res, visited);
+            collectAll(column.getColumns(), res, visited);
+        } else if (item instanceof Tooltip) {
+            check(((Tooltip) item).textProperty(), res);
+        } else if (item instanceof ContextMenu) {
+            collectAll(((ContextMenu) item).getItems(), res, visited);
+        }
+    }
+
+    private void collectNode(Node node, List<LocalizedText> res, Set<Object> visited) {
+        if (node instanceof Labeled) {
+            check(((Labeled) node).textProperty(), res);
+            collect(((Labeled) node).getGraphic(), res, visited);
+        }
+        if (node instanceof TextInputControl)
+            check(((TextInputControl) node).promptTextProperty(), res);
+        if (node instanceof ComboBoxBase)
+            check(((ComboBoxBase<?>) node).promptTextProperty(), res);
+        if (node instanceof Text)
+            check(((Text) node).textProperty(), res);
+        //ResourceBundle.Control hides the control class of JavaFX
+        if (node instanceof javafx.scene.control.Control) {
+            javafx.scene.control.Control control = (javafx.scene.control.Control) node;
+            collect(control.getTooltip(), res, visited);
+            collect(control.getContextMenu(), res, visited);
+        }
+        //the items of the controls are only added to the children by their skin, created once shown
+        if (node instanceof MenuBar)
+            collectAll(((MenuBar) node).getMenus(), res, visited);
+        else if (node instanceof TabPane)
+            collectAll(((TabPane) node).getTabs(), res, visited);
+        else if (node instanceof TableView)
+            collectAll(((TableView<?>) node).getColumns(), res, visited);
+        else if (node instanceof TreeTableView)
+            collectAll(((TreeTableView<?>) node).getColumns(), res, visited);
+        else if (node instanceof ScrollPane)
+            collect(((ScrollPane) node).getContent(), res, visited);
+        else if (node instanceof SplitPane)
+            collectAll(((SplitPane) node).getItems(), res, visited);
+        else if (node instanceof TitledPane)
+            collect(((TitledPane) node).getContent(), res, visited);
+        else if (node instanceof Accordion)
+            collectAll(((Accordion) node).getPanes(), res, visited);
+        else if (node instanceof ToolBar)
+            collectAll(((ToolBar) node).getItems(), res, visited);
+        else if (node instanceof ButtonBar)
+            collectAll(((ButtonBar) node).getButtons(), res, visited);
+        if (node instanceof Parent)
+            collectAll(((Parent) node).getChildrenUnmodifiable(), res, visited);
+    }
+
+    private void collectAll(Collection<?> items, List<LocalizedText> res, Set<Object> visited) {
+        for (Object item : items)
+            collect(item, res, visited);
+    }
+
+    private void check(StringProperty property, List<LocalizedText> res) {
+        String value = property.get();
+        if (value == null)
+            return;
+        String key;
+        synchronized (keys) {
+            key = keys.get(value);
+        }
+        if (key != null)
+            res.add(new LocalizedText(property, key, value));
+    }
+
+    /**
+     * A text property set from a key of the language file
+     */
+    static final class LocalizedText {
+        private final StringProperty property;
+        private final String key;
+        private String applied;
+
+        private LocalizedText(StringProperty property, String key, String applied) {
+            this.property = property;
+            this.key = key;
+            this.applied = applied;
+        }
+
+        /**
+         * Translates the text unless it was changed since the last time it was translated,
+         * or the key is missing from the language
+         */
+        void update(ResourceBundle language) {
+            if (property.get() != applied || property.isBound() || !language.containsKey(key))
+                return;
+            applied = language.getString(key);
+            property.set(applied);
+        }
+    }
+}
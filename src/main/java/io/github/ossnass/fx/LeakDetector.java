@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Tracks the controllers loaded by {@link ControlMaster} while leak detection is enabled,
+ * see {@link ControlMaster#setLeakDetection(boolean)}.
+ * <p>
+ * Each controller is registered with a {@link Cleaner} that counts it as collected once it is garbage collected,
+ * a controller that was closed (discarded by {@link SimpleController#release()}) but is still reachable is a suspected leak.
+ */
+final class LeakDetector {
+    private static final Cleaner cleaner = Cleaner.create();
+    private static final ConcurrentHashMap<String, Counts> counts = new ConcurrentHashMap<>();
+    private static final Set<Tracker> trackers = ConcurrentHashMap.newKeySet();
+    private static volatile boolean enabled = false;
+
+    private LeakDetector() {
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        LeakDetector.enabled = enabled;
+    }
+
+    /**
+     * Starts tracking a newly loaded controller
+     */
+    static void track(SimpleController controller) {
+        Counts idCounts = counts.computeIfAbsent(controller.getId(), id -> new Counts());
+        Tracker tracker = new Tracker(controller, idCounts);
+        idCounts.created.increment();
+        trackers.add(tracker);
+        controller.leakTracker = tracker;
+        cleaner.register(controller, tracker::collected);
+    }
+
+    /**
+     * Marks a controller as closed, it is expected to be garbage collected from now on
+     */
+    static void closed(SimpleController controller) {
+        Tracker tracker = controller.leakTracker;
+        if (tracker != null && !tracker.closed) {
+            tracker.closed = true;
+            tracker.closedAt = System.nanoTime();
+            tracker.counts.closed.increment();
+        }
+    }
+
+    /**
+     * Marks a closed controller as live again, its stage was shown again
+     */
+    static void reopened(SimpleController controller) {
+        Tracker tracker = controller.leakTracker;
+        if (tracker != null && tracker.closed) {
+            tracker.closed = false;
+            tracker.counts.closed.decrement();
+        }
+    }
+
+    /**
+     * Creates the report of the tracked controllers, should be called right after a garbage collection
+     *
+     * @param roots finds the retention roots of a closed controller that is still reachable
+     */
+    static LeakReport report(Function<SimpleController, List<String>> roots) {
+        long now = System.nanoTime();
+        List<LeakReport.SuspectedLeak> suspects = new ArrayList<>();
+        for (Tracker tracker : trackers) {
+            SimpleController controller = tracker.controller.get();
+            if (controller != null && tracker.closed)
+                suspects.add(new LeakReport.SuspectedLeak(tracker.id, controller.getClass().getName(),
+                        now - tracker.closedAt, roots.apply(controller)));
+        }
+        Map<String, LeakReport.ControllerCount> res = new TreeMap<>();
+        counts.forEach((id, idCounts) -> {
+            long created = idCounts.created.sum();
+            long closed = idCounts.closed.sum();
+            long collected = idCounts.collected.sum();
+            long closedCollected = idCounts.closedCollected.sum();
+            res.put(id, new LeakReport.ControllerCount(id, created - closed - (collected - closedCollected),
+                    closed - closedCollected, collected));
+        });
+        return new LeakReport(new ArrayList<>(res.values()), suspects);
+    }
+
+    private static final class Counts {
+        final LongAdder created = new LongAdder();
+        final LongAdder closed = new LongAdder();
+        final LongAdder collected = new LongAdder();
+        final LongAdder closedCollected = new LongAdder();
+    }
+
+    /**
+     * The tracking state of a controller, must not hold a strong reference to it
+     */
+    static final class Tracker {
+        final String id;
+        final WeakReference<SimpleController> controller;
+        final Counts counts;
+        volatile boolean closed = false;
+        volatile long closedAt = 0;
+
+        private Tracker(SimpleController controller, Counts counts) {
+            this.id = controller.getId();
+            this.controller = new WeakReference<>(controller);
+            this.counts = counts;
+        }
+
+        private void collected() {
+            trackers.remove(this);
+            counts.collected.increment();
+            if (closed)
+                counts.closedCollected.increment();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The controllers tracked by the leak detector, see {@link ControlMaster#setLeakDetection(boolean)}.
+ * <p>
+ * For each controller Id the report counts the live controllers (loaded and not closed), the closed controllers
+ * that are still reachable, and the controllers that were garbage collected.
+ * A closed controller is one discarded by SimpleFX: a {@link ContollerType#MULTIPLE_INSTANCE} controller whose stage
+ * was hidden, a {@link ContollerType#POOLED} controller that didn't fit in the pool, or an evicted
+ * {@link ContollerType#SINGLE_INSTANCE_ON_DEMAND} controller.
+ * <p>
+ * Each closed controller that is still reachable is a suspected leak, reported along with the references
+ * that are known to keep it reachable.
+ */
+public final class LeakReport {
+    private final List<ControllerCount> controllers;
+    private final List<SuspectedLeak> suspectedLeaks;
+
+    LeakReport(List<ControllerCount> controllers, List<SuspectedLeak> suspectedLeaks) {
+        this.controllers = Collections.unmodifiableList(new ArrayList<>(controllers));
+        this.suspectedLeaks = Collections.unmodifiableList(new ArrayList<>(suspectedLeaks));
+    }
+
+    /**
+     * Returns the counts of the tracked controllers per Id
+     *
+     * @return the counts of the tracked controllers sorted by Id
+     */
+    public List<ControllerCount> getControllers() {
+        return controllers;
+    }
+
+    /**
+     * Returns the closed controllers that are still reachable
+     *
+     * @return the suspected leaks
+     */
+    public List<SuspectedLeak> getSuspectedLeaks() {
+        return suspectedLeaks;
+    }
+
+    /**
+     * Formats the report as human readable text
+     *
+     * @return the report as text
+     */
+    public String toText() {
+        StringBuilder res = new StringBuilder();
+        res.append("SimpleFX controllers:\n");
+        res.append(String.format(Locale.ROOT, "  %-24s %8s %8s %10s%n", "Id", "live", "closed", "collected"));
+        for (ControllerCount controller : controllers)
+            res.append(String.format(Locale.ROOT, "  %-24s %8d %8d %10d%n", controller.id, controller.live,
+                    controller.closed, controller.collected));
+        if (!suspectedLeaks.isEmpty()) {
+            res.append("Suspected leaks:\n");
+            for (SuspectedLeak leak : suspectedLeaks) {
+                res.append(String.format(Locale.ROOT, "  %s (%s) closed %.1f s ago, retained by:%n", leak.id,
+                        leak.controllerClass, leak.closedNanosAgo / 1e9));
+                for (String root : leak.retentionRoots)
+                    res.append("    ").append(root).append('\n');
+            }
+        }
+        return res.toString();
+    }
+
+    /**
+     * The counts of the tracked controllers of an Id
+     */
+    public static final class ControllerCount {
+        private final String id;
+        private final long live;
+        private final long closed;
+        private final long collected;
+
+        ControllerCount(String id, long live, long closed, long collected) {
+            this.id = id;
+            this.live = live;
+            this.closed = closed;
+            this.collected = collected;
+        }
+
+        /**
+         * Returns the Id of the controller
+         *
+         * @return the Id of the controller
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the number of controllers loaded and not closed
+         *
+         * @return the number of live controllers
+         */
+        public long getLive() {
+            return live;
+        }
+
+        /**
+         * Returns the number of closed controllers that were not garbage collected yet
+         *
+         * @return the number of closed controllers still reachable
+         */
+        public long getClosed() {
+            return closed;
+        }
+
+        /**
+         * Returns the number of controllers that were garbage collected
+         *
+         * @return the number of collected controllers
+         */
+        public long getCollected() {
+            return collected;
+        }
+    }
+
+    /**
+     * A closed controller that is still reachable
+     */
+    public static final class SuspectedLeak {
+        private final String id;
+        private final String controllerClass;
+        private final long closedNanosAgo;
+        private final List<String> retentionRoots;
+
+        SuspectedLeak(String id, String controllerClass, long closedNanosAgo, List<String> retentionRoots) {
+            this.id = id;
+            this.controllerClass = controllerClass;
+            this.closedNanosAgo = closedNanosAgo;
+            this.retentionRoots = Collections.unmodifiableList(new ArrayList<>(retentionRoots));
+        }
+
+        /**
+         * Returns the Id of the controller
+         *
+         * @return the Id of the controller
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the class name of the controller
+         *
+         * @return the class name of the controller
+         */
+        public String getControllerClass() {
+            return controllerClass;
+        }
+
+        /**
+         * Returns the time since the controller was closed
+         *
+         * @return the time since the controller was closed in nanoseconds
+         */
+        public long getClosedNanosAgo() {
+            return closedNanosAgo;
+        }
+
+        /**
+         * Returns the references known to keep the controller reachable, like the handlers of its stage
+         * or a window still showing its nodes
+         *
+         * @return the descriptions of the retention roots
+         */
+        public List<String> getRetentionRoots() {
+            return retentionRoots;
+        }
+    }
+}
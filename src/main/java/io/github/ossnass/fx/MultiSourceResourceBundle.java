@@ -5,7 +5,13 @@ package io.github.ossnass.fx;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This Class allows loading language from multiple files into a single entity.
@@ -21,9 +27,25 @@ import java.util.*;
  * If two files contain the same key with different values, then the later file value will not load.
  * <p>
  * It is based on {@link PropertyResourceBundle}
+ * <p>
+ * The keys are held in an immutable table built once the file is read, each appended file replaces it with
+ * a new table, so lookups don't lock nor allocate.
+ * <p>
+ * A language converted to a language pack by {@link LanguagePackConverter} can be opened using
+ * {@link MultiSourceResourceBundle#fromLanguagePack(Path)}, which maps the file in memory and decodes the values on
+ * their first lookup only.
  */
 public class MultiSourceResourceBundle extends ResourceBundle {
-    private final Map<String, Object> values;
+    /**
+     * The keys that are only taken from the first language file
+     */
+    private static final Set<String> HEADER_KEYS = Set.of(LanguageKeys.LANG_SHORT, LanguageKeys.LANG_COUNTRY_SHORT,
+            LanguageKeys.LANG_LAYOUT_DIRECTION, LanguageKeys.LANG_NAME, LanguageKeys.MESSAGE_TITLE_INFO,
+            LanguageKeys.MESSAGE_TITLE_CONFIRM, LanguageKeys.MESSAGE_TITLE_ERROR, LanguageKeys.MESSAGE_TITLE_WARNING);
+
+    private volatile LanguageTable values;
+    //the appended files of every language by language tag, merged into the language when it is switched
+    private final Map<String, List<StringTable>> fragments = new HashMap<>();
 
     /**
      * Creates a multisource resource bundle from an {@link java.io.InputStream
@@ -37,11 +59,10 @@ public class MultiSourceResourceBundle extends ResourceBundle {
      * @throws IllegalArgumentException if {@code stream} contains a
      *                                  malformed Unicode escape sequence.
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public MultiSourceResourceBundle(InputStream stream) throws IOException {
         Properties properties = new Properties();
         properties.load(stream);
-        values = new HashMap(properties);
+        values = StringTable.of(properties);
     }
 
     /**
@@ -58,34 +79,84 @@ public class MultiSourceResourceBundle extends ResourceBundle {
      *                                  from {@code reader}.
      * @since 1.6
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public MultiSourceResourceBundle(Reader reader) throws IOException {
         Properties properties = new Properties();
         properties.load(reader);
-        values = new HashMap(properties);
-    }
-
-    private boolean processProperties(Properties props) {
-        Set<Object> keys = props.keySet();
-        String shortLang = props.getProperty(LanguageKeys.LANG_SHORT);
-        String country = props.getProperty(LanguageKeys.LANG_COUNTRY_SHORT);
-        if (!(shortLang.equalsIgnoreCase(values.get(LanguageKeys.LANG_SHORT).toString())
-                &&
-                country.equalsIgnoreCase(values.get(LanguageKeys.LANG_COUNTRY_SHORT).toString())))
-            return false;
-        keys.remove(LanguageKeys.LANG_SHORT);
-        keys.remove(LanguageKeys.LANG_COUNTRY_SHORT);
-        keys.remove(LanguageKeys.LANG_LAYOUT_DIRECTION);
-        keys.remove(LanguageKeys.MESSAGE_TITLE_INFO);
-        keys.remove(LanguageKeys.MESSAGE_TITLE_CONFIRM);
-        keys.remove(LanguageKeys.MESSAGE_TITLE_ERROR);
-        keys.remove(LanguageKeys.MESSAGE_TITLE_WARNING);
-        keys.remove(LanguageKeys.LANG_NAME);
-        for (Object key : keys) {
-            if (!values.containsKey(key))
-                values.put(key.toString(), props.getProperty(key.toString()));
-        }
-        return true;
+        values = StringTable.of(properties);
+    }
+
+    MultiSourceResourceBundle(LanguageTable values) {
+        this.values = values;
+    }
+
+    /**
+     * Opens a language pack written by {@link LanguagePackConverter}, the file is mapped in memory
+     * and must not be modified while the bundle is used.
+     * <p>
+     * Appending a language file to the bundle decodes the whole language pack.
+     *
+     * @param pack the path of the language pack
+     * @return the resource bundle of the language pack
+     * @throws IOException if the file cannot be read or is not a language pack
+     */
+    public static MultiSourceResourceBundle fromLanguagePack(Path pack) throws IOException {
+        return new MultiSourceResourceBundle(LanguagePack.open(pack));
+    }
+
+    /**
+     * Returns the current values of the bundle, the table is immutable
+     *
+     * @return the current values of the bundle
+     */
+    LanguageTable table() {
+        return values;
+    }
+
+    /**
+     * Replaces the values of the bundle by the values of another language,
+     * used by {@link ControlMaster#switchLanguage(String)} so the references to the bundle see the new language.
+     * <p>
+     * The files appended for the new language are not merged, see {@link MultiSourceResourceBundle#fragmentsOf(LanguageTable)}.
+     *
+     * @param table the values of the new language
+     */
+    synchronized void replace(LanguageTable table) {
+        values = table;
+    }
+
+    /**
+     * Returns the files appended to the bundle for the language of a table, whether they were merged or rejected
+     *
+     * @param table the values of a language
+     * @return the appended files of the language in the order they were appended
+     */
+    synchronized List<StringTable> fragmentsOf(LanguageTable table) {
+        List<StringTable> res = fragments.get(languageTag(table.get(LanguageKeys.LANG_SHORT), table.get(LanguageKeys.LANG_COUNTRY_SHORT)));
+        return res == null ? Collections.emptyList() : new ArrayList<>(res);
+    }
+
+    /**
+     * Adds appended files to a language, the keys of the language keep their values and the first file defining
+     * a key wins
+     *
+     * @param table     the values of the language
+     * @param fragments the files to add
+     * @return the table with the keys of the files, the table itself if there are no files
+     */
+    static LanguageTable withFragments(LanguageTable table, List<StringTable> fragments) {
+        if (fragments.isEmpty())
+            return table;
+        Map<String, String> added = new HashMap<>();
+        for (StringTable fragment : fragments)
+            for (String key : fragment.keySet())
+                added.putIfAbsent(key, fragment.get(key));
+        return table.merge(added);
+    }
+
+    private static String languageTag(String shortLang, String country) {
+        if (shortLang == null || country == null)
+            return null;
+        return (shortLang + "-" + country).toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -96,9 +167,7 @@ public class MultiSourceResourceBundle extends ResourceBundle {
      * @throws IOException
      */
     public boolean appendResource(Reader newValues) throws IOException {
-        Properties props = new Properties();
-        props.load(newValues);
-        return processProperties(props);
+        return append(LanguageSource.of("reader", newValues));
     }
 
     /**
@@ -109,9 +178,145 @@ public class MultiSourceResourceBundle extends ResourceBundle {
      * @throws IOException
      */
     public boolean appendResource(InputStream newValues) throws IOException {
-        Properties props = new Properties();
-        props.load(newValues);
-        return processProperties(props);
+        return append(LanguageSource.of("input stream", newValues));
+    }
+
+    private boolean append(LanguageSource source) throws IOException {
+        return merge(List.of(ParsedSource.read(source)), 0).getSources().get(0).isMerged();
+    }
+
+    /**
+     * Appends many language files at once, see {@link MultiSourceResourceBundle#appendResources(List, Executor)},
+     * the files are read using the common fork join pool
+     *
+     * @param sources the language files in the order of precedence
+     * @return the merged and rejected files, the conflicting keys and the timings
+     * @throws IOException if an error occurred while reading one of the files, nothing is appended then
+     */
+    public LanguageMergeReport appendResources(List<LanguageSource> sources) throws IOException {
+        return appendResources(sources, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Appends many language files at once, the files are read in parallel then merged into the language in one step.
+     * <p>
+     * The precedence is the same as appending the files one by one in order: a key already in the language keeps its
+     * value, otherwise the first file defining it wins, whatever the order the files were read in.
+     * Each different value ignored is reported as a conflict.
+     * A file whose {@link LanguageKeys#LANG_SHORT} or {@link LanguageKeys#LANG_COUNTRY_SHORT} differ from the language
+     * is rejected.
+     * <p>
+     * The files are kept by the bundle in compact tables, merged or not, and merged into their language when it is
+     * switched to using {@link ControlMaster#switchLanguage(String)} or preloaded using
+     * {@link ControlMaster#preloadLanguage(String, String...)}, so the files of all the languages can be appended at once.
+     * A file without {@link LanguageKeys#LANG_SHORT} or {@link LanguageKeys#LANG_COUNTRY_SHORT} is not kept.
+     *
+     * @param sources  the language files in the order of precedence
+     * @param executor the executor used to read the files
+     * @return the merged and rejected files, the conflicting keys and the timings
+     * @throws IOException if an error occurred while reading one of the files, nothing is appended then
+     */
+    public LanguageMergeReport appendResources(List<LanguageSource> sources, Executor executor) throws IOException {
+        long begin = System.nanoTime();
+        List<CompletableFuture<ParsedSource>> reads = new ArrayList<>(sources.size());
+        for (LanguageSource source : sources)
+            reads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ParsedSource.read(source);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        List<ParsedSource> parsed = new ArrayList<>(sources.size());
+        IOException failure = null;
+        for (CompletableFuture<ParsedSource> read : reads)
+            try {
+                parsed.add(read.join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof UncheckedIOException))
+                    throw e;
+                IOException cause = ((UncheckedIOException) e.getCause()).getCause();
+                if (failure == null)
+                    failure = cause;
+                else
+                    failure.addSuppressed(cause);
+            }
+        if (failure != null)
+            throw failure;
+        return merge(parsed, System.nanoTime() - begin);
+    }
+
+    private synchronized LanguageMergeReport merge(List<ParsedSource> sources, long readNanos) {
+        long begin = System.nanoTime();
+        LanguageTable current = values;
+        String shortLang = current.get(LanguageKeys.LANG_SHORT);
+        String country = current.get(LanguageKeys.LANG_COUNTRY_SHORT);
+        Map<String, String> added = new HashMap<>();
+        Map<String, String> origins = new HashMap<>();
+        List<LanguageMergeReport.SourceResult> results = new ArrayList<>(sources.size());
+        List<LanguageMergeReport.Conflict> conflicts = new ArrayList<>();
+        for (ParsedSource source : sources) {
+            if (!(source.shortLang != null && source.shortLang.equalsIgnoreCase(shortLang)
+                    && source.country != null && source.country.equalsIgnoreCase(country))) {
+                results.add(new LanguageMergeReport.SourceResult(source.name, false,
+                        String.format("the language %s-%s is not %s-%s", source.shortLang, source.country, shortLang, country),
+                        0, source.readNanos));
+                continue;
+            }
+            int count = 0;
+            for (Map.Entry<String, String> entry : source.entries.entrySet()) {
+                String key = entry.getKey();
+                String kept = current.get(key);
+                String keptSource = null;
+                if (kept == null) {
+                    kept = added.get(key);
+                    keptSource = origins.get(key);
+                }
+                if (kept == null) {
+                    added.put(key, entry.getValue());
+                    origins.put(key, source.name);
+                    count++;
+                } else if (!kept.equals(entry.getValue()))
+                    conflicts.add(new LanguageMergeReport.Conflict(key, keptSource, kept, source.name, entry.getValue()));
+            }
+            results.add(new LanguageMergeReport.SourceResult(source.name, true, null, count, source.readNanos));
+        }
+        if (!added.isEmpty())
+            values = current.merge(added);
+        for (ParsedSource source : sources) {
+            String tag = languageTag(source.shortLang, source.country);
+            if (tag != null)
+                fragments.computeIfAbsent(tag, k -> new ArrayList<>()).add(StringTable.of(source.entries));
+        }
+        return new LanguageMergeReport(results, conflicts, readNanos, System.nanoTime() - begin);
+    }
+
+    /**
+     * A language file read without its header keys, see {@link MultiSourceResourceBundle#HEADER_KEYS}
+     */
+    private static final class ParsedSource {
+        private final String name;
+        private final String shortLang;
+        private final String country;
+        //sorted so the conflicts are reported in the same order on every run
+        private final SortedMap<String, String> entries = new TreeMap<>();
+        private final long readNanos;
+
+        private ParsedSource(LanguageSource source, Properties props, long readNanos) {
+            this.name = source.getName();
+            this.shortLang = props.getProperty(LanguageKeys.LANG_SHORT);
+            this.country = props.getProperty(LanguageKeys.LANG_COUNTRY_SHORT);
+            for (String key : props.stringPropertyNames())
+                if (!HEADER_KEYS.contains(key))
+                    entries.put(key, props.getProperty(key));
+            this.readNanos = readNanos;
+        }
+
+        static ParsedSource read(LanguageSource source) throws IOException {
+            long begin = System.nanoTime();
+            Properties props = source.read();
+            return new ParsedSource(source, props, System.nanoTime() - begin);
+        }
     }
 
     @Override
@@ -133,10 +338,35 @@ public class MultiSourceResourceBundle extends ResourceBundle {
      */
     @Override
     public Enumeration<String> getKeys() {
-
-        Vector<String> res=new Vector<>(values.keySet());
-        if(this.parent!=null)
-           this.parent.getKeys().asIterator().forEachRemaining(key->res.addElement(key));
+        if (this.parent == null)
+            return Collections.enumeration(values.keySet());
+        Vector<String> res = new Vector<>(values.keySet());
+        this.parent.getKeys().asIterator().forEachRemaining(key -> res.addElement(key));
         return res.elements();
     }
+
+    /**
+     * Returns the keys contained in this bundle only, the same immutable set until a file is appended.
+     * <p>
+     * Used by {@link ResourceBundle#containsKey(String)}, so checking a key doesn't copy the keys.
+     *
+     * @return the keys contained in this bundle
+     */
+    @Override
+    protected Set<String> handleKeySet() {
+        return values.keySet();
+    }
+
+    /**
+     * Checks whether a key is contained in this bundle or its parent bundles, without building the key set
+     *
+     * @param key the key
+     * @return true if the key is contained in this bundle or its parent bundles
+     */
+    @Override
+    public boolean containsKey(String key) {
+        if (key == null)
+            throw new NullPointerException();
+        return values.containsKey(key) || (this.parent != null && this.parent.containsKey(key));
+    }
 }
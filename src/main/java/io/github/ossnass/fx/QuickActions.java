@@ -24,6 +24,7 @@
 
 package io.github.ossnass.fx;
 
+import io.github.ossnass.fx.jfr.DialogEvent;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 
@@ -43,6 +44,8 @@ public class QuickActions {
      * @param owner   the owner of the message, if not null, the message will have the same node orientation of the owner
      */
     public static void showErrorMessage(String title, String header, String content, SimpleController owner) {
+        DialogEvent event = new DialogEvent();
+        event.begin();
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.getDialogPane().getScene().getStylesheets().addAll(ControlMaster.getControlMaster().getCSSes());
         if (owner != null && owner.getRoot() != null) {
@@ -56,6 +59,7 @@ public class QuickActions {
         alert.setHeaderText(header);
         alert.setContentText(content);
         alert.showAndWait();
+        commit(event, alert, owner);
     }
 
     /**
@@ -67,6 +71,8 @@ public class QuickActions {
      * @param owner   the owner of the message, if not null, the message will have the same node orientation of the owner
      */
     public static void showInfoMessage(String title, String header, String content, SimpleController owner) {
+        DialogEvent event = new DialogEvent();
+        event.begin();
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.getDialogPane().getScene().getStylesheets().addAll(ControlMaster.getControlMaster().getCSSes());
         if (owner.getRoot() != null) {
@@ -81,6 +87,7 @@ public class QuickActions {
         alert.setContentText(content);
 
         alert.showAndWait();
+        commit(event, alert, owner);
     }
 
     /**
@@ -94,6 +101,8 @@ public class QuickActions {
      */
 
     public static ButtonType showConfirmationMessage(String title, String header, String content, SimpleController owner) {
+        DialogEvent event = new DialogEvent();
+        event.begin();
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.getDialogPane().getScene().getStylesheets().addAll(ControlMaster.getControlMaster().getCSSes());
         if (owner.getRoot() != null) {
@@ -108,6 +117,7 @@ public class QuickActions {
         alert.setContentText(content);
 
         alert.showAndWait();
+        commit(event, alert, owner);
         return alert.getResult();
     }
 
@@ -120,6 +130,8 @@ public class QuickActions {
      * @param owner   the owner of the message, if not null, the message will have the same node orientation of the owner
      */
     public static void showWarningMessage(String title, String header, String content, SimpleController owner) {
+        DialogEvent event = new DialogEvent();
+        event.begin();
         Alert alert = new Alert(Alert.AlertType.WARNING);
 
         alert.getDialogPane().getScene().getStylesheets().addAll(ControlMaster.getControlMaster().getCSSes());
@@ -135,6 +147,15 @@ public class QuickActions {
         alert.setContentText(content);
 
         alert.showAndWait();
+        commit(event, alert, owner);
     }
-}
 
+    private static void commit(DialogEvent event, Alert alert, SimpleController owner) {
+        if (event.shouldCommit()) {
+            event.dialogType = alert.getAlertType().name();
+            event.ownerId = owner == null ? null : owner.getId();
+            event.result = alert.getResult() == null ? null : alert.getResult().getText();
+            event.commit();
+        }
+    }
+}
@@ -4,57 +4,202 @@ import io.github.classgraph.ClassGraph;
 import io.github.classgraph.Resource;
 import io.github.classgraph.ResourceList;
 import io.github.classgraph.ScanResult;
+import io.github.ossnass.fx.jfr.ResourceLookupEvent;
+import io.github.ossnass.fx.metrics.Counter;
+import io.github.ossnass.fx.metrics.Metrics;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is used to load resources from the class path
+ * <p>
+ * Lookups through {@link ResourceManager#getURL(String)} and {@link ResourceManager#getResourceAsInputStream(String)}
+ * are served from an index mapping resource paths to their URLs, the index is built lazily one directory at a time,
+ * so the class path is only scanned the first time a resource from a given directory is requested.
+ * <p>
+ * If the class path changes at runtime, call {@link ResourceManager#invalidate()} to drop the index.
+ * <p>
+ * The index can be kept between launches of the application using {@link ScanCache}, and the scans are restricted by
+ * the modules and jars of the {@link ScanConfig} passed to {@link ControlMaster#initControlMaster(String, ScanConfig)}.
  */
 public class ResourceManager {
+    private static final Counter lookupHits = Metrics.counter("resources.lookups.hits");
+    private static final Counter lookupMisses = Metrics.counter("resources.lookups.misses");
+    private static final Counter scans = Metrics.counter("resources.scans");
+    private static final ConcurrentHashMap<String, URL> index = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Boolean> indexedDirectories = new ConcurrentHashMap<>();
+    private static volatile boolean fullyIndexed = false;
+    private static volatile ScanConfig scanConfig = new ScanConfig();
+
     /**
      * Loads a resource from the class path based on its URL.
      *
      * The URL shouldnot start with "/", if so it will be removed
+     * <p>
+     * The index only keeps the URLs of the resources, so the directory of an existing resource is scanned again on
+     * every call. The scan is closed once the resource is found, so only {@link Resource#getPath()} and
+     * {@link Resource#getURL()} of the returned resource can be used.
      *
      * @param urlStr the URL of the resource
      * @return a {@link Resource} object from the ClassGraph library representing the resource
+     * @deprecated use {@link ResourceManager#getURL(String)} or {@link ResourceManager#getResourceAsInputStream(String)},
+     * which are served from the index
      */
+    @Deprecated
     public static Resource getResource(String urlStr) {
-        try (ScanResult scan = new ClassGraph().scan()) {
-            if (urlStr.startsWith("/"))
-                urlStr = urlStr.substring(1);
-            ResourceList rl = scan.getResourcesWithPath(urlStr);
-            if (rl.size() > 0)
-                return rl.get(0);
-            return null;
+        ResourceLookupEvent event = new ResourceLookupEvent();
+        String path = normalize(urlStr);
+        boolean indexed = event.isEnabled() && index.containsKey(path);
+        event.begin();
+        Resource res = null;
+        //missing resources are answered by the index without scanning
+        if (lookup(path) != null) {
+            try (ScanResult scan = scanDirectory(parentOf(path))) {
+                ResourceList found = scan.getResourcesWithPath(path);
+                if (!found.isEmpty())
+                    res = found.get(0);
+            }
+        }
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.found = res != null;
+            event.cacheHit = indexed;
+            event.commit();
         }
+        return res;
     }
 
 
     /**
      * Returns the URL of a resource in the class path.
      *
-     * This method uses {@link ResourceManager#getResource(String)}, and have the same restriction in URL style.
+     * This method uses the resource index.
+     * The URL should not start with "/", if so it will be removed.
      * @param urlStr the URL of the resource
-     * @return the URL of the resource in {@link URL} object
+     * @return the URL of the resource in {@link URL} object, null if the resource doesn't exist
      * @throws MalformedURLException
      */
     public static URL getURL(String urlStr) throws MalformedURLException {
-        return getResource(urlStr).getURL();
+        ResourceLookupEvent event = new ResourceLookupEvent();
+        boolean indexed = event.isEnabled() && index.containsKey(normalize(urlStr));
+        event.begin();
+        boolean profiled = StartupProfiler.active() != null;
+        long begin = profiled ? System.nanoTime() : 0;
+        URL url = lookup(urlStr);
+        if (profiled)
+            StartupProfiler.resourceLookup(urlStr, System.nanoTime() - begin, url != null);
+        if (event.shouldCommit()) {
+            event.path = normalize(urlStr);
+            event.found = url != null;
+            event.cacheHit = indexed;
+            event.commit();
+        }
+        return url;
+    }
+
+    private static URL lookup(String urlStr) {
+        String path = normalize(urlStr);
+        URL url = index.get(path);
+        (url != null ? lookupHits : lookupMisses).increment();
+        if (url == null && !fullyIndexed) {
+            indexedDirectories.computeIfAbsent(parentOf(path), ResourceManager::indexDirectory);
+            url = index.get(path);
+        }
+        return url;
     }
 
     /**
      * Returns the an input stream of a resource in the class path.
      *
-     * This method uses {@link ResourceManager#getResource(String)}, and have the same restriction in URL style.
+     * This method uses {@link ResourceManager#getURL(String)}, and have the same restriction in URL style.
      * @param urlStr the URL of the resource
-     * @return the input stream of the resource
+     * @return the input stream of the resource, null if the resource doesn't exist
      * @throws IOException
      */
     public static InputStream getResourceAsInputStream(String urlStr) throws IOException {
-        return getResource(urlStr).open();
+        URL url = getURL(urlStr);
+        if (url == null)
+            return null;
+        return url.openStream();
+    }
+
+    /**
+     * Clears the resource index, the next lookups will scan the class path again.
+     * <p>
+     * Only needed when the class path changes at runtime.
+     */
+    public static void invalidate() {
+        fullyIndexed = false;
+        indexedDirectories.clear();
+        index.clear();
+    }
+
+    /**
+     * Restricts the scans to the modules and jars of the configuration, and defines the number of threads used to scan
+     */
+    static void setScanConfig(ScanConfig config) {
+        scanConfig = config;
+    }
+
+    /**
+     * Fills the index with the resources saved by {@link ScanCache}
+     */
+    static void restore(Collection<String> directories, Map<String, URL> resources, boolean full) {
+        index.putAll(resources);
+        for (String dir : directories)
+            indexedDirectories.putIfAbsent(dir, Boolean.TRUE);
+        if (full)
+            fullyIndexed = true;
+    }
+
+    static Set<String> getIndexedDirectories() {
+        return indexedDirectories.keySet();
+    }
+
+    static Map<String, URL> getIndex() {
+        return index;
+    }
+
+    static boolean isFullyIndexed() {
+        return fullyIndexed;
+    }
+
+    private static Boolean indexDirectory(String dir) {
+        try (ScanResult scan = scanDirectory(dir)) {
+            for (Resource resource : scan.getAllResources()) {
+                index.putIfAbsent(resource.getPath(), resource.getURL());
+            }
+        }
+        //the root directory cannot be scanned on its own, so the whole class path got indexed
+        if (dir.isEmpty())
+            fullyIndexed = true;
+        return Boolean.TRUE;
+    }
+
+    private static ScanResult scanDirectory(String dir) {
+        scans.increment();
+        ScanConfig config = scanConfig;
+        ClassGraph classGraph = config.applyToResources(new ClassGraph());
+        if (!dir.isEmpty())
+            classGraph.acceptPathsNonRecursive(dir);
+        return classGraph.scan(config.getThreads());
+    }
+
+    private static String normalize(String urlStr) {
+        if (urlStr.startsWith("/"))
+            return urlStr.substring(1);
+        return urlStr;
+    }
+
+    private static String parentOf(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
     }
 }
@@ -0,0 +1,352 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the results of the class path scans done by SimpleFX between launches of the application.
+ * <p>
+ * When enabled, the controller classes found by {@link ControlMaster} and the resources indexed by {@link ResourceManager}
+ * during {@link ControlMaster#initControlMaster(String)} are saved to a cache file, and read back on the next launch
+ * instead of scanning the class path again.
+ * <p>
+ * The cache file is named after a SHA-256 hash of the class path and module path entries along with their sizes and
+ * modification times, so any change to the class path (a new jar, a recompiled class, ...) invalidates it automatically.
+ * Each scan configuration has its own cache file, named after a SHA-256 hash of the configuration which is also stored
+ * in the file and compared when it is read.
+ * <p>
+ * A cache file that cannot be read or written is ignored, and the class path is scanned as if the cache was disabled.
+ * <p>
+ * The cache is disabled by default, and must be enabled before calling {@link ControlMaster#initControlMaster(String)}.
+ */
+public final class ScanCache {
+    private static final String HEADER = "#SimpleFX scan cache 2";
+    private static final String KEY = "K";
+    private static final String SCANNED = "S";
+    private static final String CONTROLLER = "C";
+    private static final String DIRECTORY = "D";
+    private static final String RESOURCE = "R";
+    private static final String FULLY_INDEXED = "F";
+
+    private static volatile Path directory = null;
+    private static volatile String fingerprint = null;
+    private static volatile List<String> cachedControllers = null;
+
+    private ScanCache() {
+    }
+
+    /**
+     * Enables the cache in the default cache directory of the user: "%LOCALAPPDATA%\simplefx" on Windows,
+     * "~/Library/Caches/simplefx" on macOS and "$XDG_CACHE_HOME/simplefx" or "~/.cache/simplefx" elsewhere
+     */
+    public static void enable() {
+        enable(defaultDirectory());
+    }
+
+    /**
+     * Enables the cache in the given directory, created if it doesn't exist
+     *
+     * @param cacheDirectory the directory where the cache files are kept
+     */
+    public static void enable(Path cacheDirectory) {
+        if (cacheDirectory == null)
+            throw new IllegalArgumentException("The cache directory cannot be null");
+        directory = cacheDirectory;
+    }
+
+    /**
+     * Disables the cache, the existing cache files are kept
+     */
+    public static void disable() {
+        directory = null;
+    }
+
+    /**
+     * Returns whether the cache is enabled
+     *
+     * @return true if the cache is enabled
+     */
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Returns the directory where the cache files are kept
+     *
+     * @return the directory where the cache files are kept, null if the cache is disabled
+     */
+    public static Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Deletes the cache files, the next launch scans the class path again
+     *
+     * @throws IOException if a cache file cannot be deleted
+     */
+    public static void clear() throws IOException {
+        Path dir = directory;
+        cachedControllers = null;
+        if (dir == null || !Files.isDirectory(dir))
+            return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.cache")) {
+            for (Path file : files)
+                Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Reads the cache file matching the current class path and scan configuration, restoring the index of {@link ResourceManager}
+     * and remembering the cached controllers for {@link ScanCache#readControllers(ClassLoader)}
+     */
+    static void load(ScanConfig config) {
+        cachedControllers = null;
+        Path file = cacheFile(config);
+        if (file == null || !Files.isRegularFile(file))
+            return;
+        List<String> controllers = null;
+        List<String> directories = new ArrayList<>();
+        Map<String, URL> resources = new HashMap<>();
+        boolean fullyIndexed = false;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine()) || !(KEY + "\t" + config.key()).equals(reader.readLine()))
+                return;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] entry = line.split("\t", -1);
+                switch (entry[0]) {
+                    case SCANNED:
+                        controllers = new ArrayList<>();
+                        break;
+                    case CONTROLLER:
+                        if (controllers != null)
+                            controllers.add(entry[1]);
+                        break;
+                    case DIRECTORY:
+                        directories.add(entry[1]);
+                        break;
+                    case RESOURCE:
+                        resources.put(entry[1], new URL(entry[2]));
+                        break;
+                    case FULLY_INDEXED:
+                        fullyIndexed = true;
+                        break;
+                    default:
+                        return;
+                }
+            }
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            //a damaged cache is ignored and replaced on the next save
+            return;
+        }
+        cachedControllers = controllers;
+        ResourceManager.restore(directories, resources, fullyIndexed);
+    }
+
+    /**
+     * Returns the controllers read by {@link ScanCache#load(ScanConfig)}
+     *
+     * @param loader the class loader used to load the controllers
+     * @return the cached controller classes, null if they are not cached or the cache doesn't match the classes
+     */
+    static List<Class<? extends SimpleController>> readControllers(ClassLoader loader) {
+        List<String> names = cachedControllers;
+        if (names == null)
+            return null;
+        List<Class<? extends SimpleController>> res = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                Class<?> controllerClass = Class.forName(name, false, loader);
+                if (!SimpleController.class.isAssignableFrom(controllerClass) || !controllerClass.isAnnotationPresent(ControllerInfo.class))
+                    return null;
+                res.add(controllerClass.asSubclass(SimpleController.class));
+            } catch (ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Saves the index of {@link ResourceManager}, and the controllers if they were found by scanning the class path
+     *
+     * @param config             the restrictions used by the scans
+     * @param scannedControllers the controllers found by scanning the class path, null if they were not scanned
+     */
+    static void save(ScanConfig config, List<Class<? extends SimpleController>> scannedControllers) {
+        Path file = cacheFile(config);
+        if (file == null)
+            return;
+        List<String> controllers = cachedControllers;
+        if (scannedControllers != null) {
+            controllers = new ArrayList<>(scannedControllers.size());
+            for (Class<? extends SimpleController> controllerClass : scannedControllers)
+                controllers.add(controllerClass.getName());
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "scan", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                write(writer, KEY, config.key());
+                if (controllers != null) {
+                    writer.write(SCANNED);
+                    writer.newLine();
+                    for (String name : controllers)
+                        write(writer, CONTROLLER, name);
+                }
+                for (String dir : ResourceManager.getIndexedDirectories())
+                    write(writer, DIRECTORY, dir);
+                for (Map.Entry<String, URL> resource : ResourceManager.getIndex().entrySet())
+                    write(writer, RESOURCE, resource.getKey(), resource.getValue().toString());
+                if (ResourceManager.isFullyIndexed()) {
+                    writer.write(FULLY_INDEXED);
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            cachedControllers = controllers;
+        } catch (IOException e) {
+            //the cache is only an optimization, the next launch scans the class path again
+        }
+    }
+
+    private static void write(BufferedWriter writer, String type, String... values) throws IOException {
+        writer.write(type);
+        for (String value : values) {
+            writer.write('\t');
+            writer.write(value);
+        }
+        writer.newLine();
+    }
+
+    /**
+     * Returns the cache file of the current class path, each scan configuration has its own cache file
+     */
+    private static Path cacheFile(ScanConfig config) {
+        Path dir = directory;
+        if (dir == null)
+            return null;
+        String key = fingerprint;
+        if (key == null) {
+            key = computeFingerprint();
+            if (key == null)
+                return null;
+            fingerprint = key;
+        }
+        try {
+            return dir.resolve(key + "-" + hex(MessageDigest.getInstance("SHA-256").digest(config.key().getBytes(StandardCharsets.UTF_8))) + ".cache");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hashes the class path and module path entries with their sizes and modification times,
+     * the files of directory entries are included so recompiled classes change the hash
+     */
+    private static String computeFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, HEADER);
+            update(digest, System.getProperty("java.version", ""));
+            for (String property : new String[]{"java.class.path", "jdk.module.path"}) {
+                String value = System.getProperty(property, "");
+                for (String entry : value.split(File.pathSeparator)) {
+                    if (entry.isEmpty())
+                        continue;
+                    update(digest, entry);
+                    Path path = Paths.get(entry);
+                    if (Files.isDirectory(path)) {
+                        try (Stream<Path> files = Files.walk(path)) {
+                            for (Path child : (Iterable<Path>) files.sorted()::iterator)
+                                update(digest, path.relativize(child).toString(), child);
+                        }
+                    } else {
+                        update(digest, "", path);
+                    }
+                }
+            }
+            return hex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            //without a fingerprint the cache cannot be trusted, so it is not used
+            return null;
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder res = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+            res.append(String.format("%02x", b));
+        return res.toString();
+    }
+
+    private static void update(MessageDigest digest, String name, Path file) {
+        update(digest, name);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            update(digest, "missing");
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static Path defaultDirectory() {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        String home = System.getProperty("user.home");
+        if (os.contains("win")) {
+            String appData = System.getenv("LOCALAPPDATA");
+            return appData != null ? Paths.get(appData, "simplefx") : Paths.get(home, "AppData", "Local", "simplefx");
+        }
+        if (os.contains("mac"))
+            return Paths.get(home, "Library", "Caches", "simplefx");
+        String xdg = System.getenv("XDG_CACHE_HOME");
+        return xdg != null && !xdg.isEmpty() ? Paths.get(xdg, "simplefx") : Paths.get(home, ".cache", "simplefx");
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import io.github.classgraph.ClassGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Restricts the class path scans done by SimpleFX, see {@link ControlMaster#initControlMaster(String, ScanConfig)}.
+ * <p>
+ * By default the whole class path and module path are scanned, including JavaFX and every other library,
+ * restricting the scan to the packages of the application makes the discovery of the controllers much faster:
+ * <pre>
+ * ControlMaster.getControlMaster().initControlMaster("en-us.lang",
+ *         new ScanConfig().acceptPackages("com.example.gui").rejectJars("javafx-*.jar"));
+ * </pre>
+ * The package lists only apply to the discovery of the controllers, while the module and jar lists as well as
+ * the number of threads also apply to the resource lookups of {@link ResourceManager},
+ * since resources like FXML files usually live outside of the packages.
+ * <p>
+ * The names follow the conventions of ClassGraph: packages are accepted along with their sub-packages,
+ * and jar names may contain "*" wildcards.
+ */
+public class ScanConfig {
+    private final List<String> acceptPackages = new ArrayList<>();
+    private final List<String> rejectPackages = new ArrayList<>();
+    private final List<String> acceptModules = new ArrayList<>();
+    private final List<String> rejectModules = new ArrayList<>();
+    private final List<String> rejectJars = new ArrayList<>();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean scanningDisabled = false;
+
+    /**
+     * Restricts the discovery of the controllers to the given packages and their sub-packages
+     *
+     * @param packages the names of the packages
+     * @return this object
+     */
+    public ScanConfig acceptPackages(String... packages) {
+        acceptPackages.addAll(Arrays.asList(packages));
+        return this;
+    }
+
+    /**
+     * Excludes the given packages and their sub-packages from the discovery of the controllers
+     *
+     * @param packages the names of the packages
+     * @return this object
+     */
+    public ScanConfig rejectPackages(String... packages) {
+        rejectPackages.addAll(Arrays.asList(packages));
+        return this;
+    }
+
+    /**
+     * Restricts the scan of the module path to the given modules
+     *
+     * @param modules the names of the modules
+     * @return this object
+     */
+    public ScanConfig acceptModules(String... modules) {
+        acceptModules.addAll(Arrays.asList(modules));
+        return this;
+    }
+
+    /**
+     * Excludes the given modules from the scan
+     *
+     * @param modules the names of the modules
+     * @return this object
+     */
+    public ScanConfig rejectModules(String... modules) {
+        rejectModules.addAll(Arrays.asList(modules));
+        return this;
+    }
+
+    /**
+     * Excludes the given jars from the scan
+     *
+     * @param jars the names of the jar files without their directory, "*" can be used as a wildcard
+     * @return this object
+     */
+    public ScanConfig rejectJars(String... jars) {
+        rejectJars.addAll(Arrays.asList(jars));
+        return this;
+    }
+
+    /**
+     * Defines the number of threads used to scan the class path, all the available processors by default
+     *
+     * @param threads the number of threads, at least 1
+     * @return this object
+     */
+    public ScanConfig threads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Never scans the class path for controllers, they are only read from the controller index generated by
+     * the SimpleFX annotation processor, the {@link ScanCache} and the {@link ControllerProvider}s
+     *
+     * @return this object
+     */
+    public ScanConfig disableScanning() {
+        scanningDisabled = true;
+        return this;
+    }
+
+    /**
+     * Returns the accepted packages
+     *
+     * @return the accepted packages, empty if not restricted
+     */
+    public List<String> getAcceptPackages() {
+        return Collections.unmodifiableList(acceptPackages);
+    }
+
+    /**
+     * Returns the rejected packages
+     *
+     * @return the rejected packages, empty if not restricted
+     */
+    public List<String> getRejectPackages() {
+        return Collections.unmodifiableList(rejectPackages);
+    }
+
+    /**
+     * Returns the accepted modules
+     *
+     * @return the accepted modules, empty if not restricted
+     */
+    public List<String> getAcceptModules() {
+        return Collections.unmodifiableList(acceptModules);
+    }
+
+    /**
+     * Returns the rejected modules
+     *
+     * @return the rejected modules, empty if not restricted
+     */
+    public List<String> getRejectModules() {
+        return Collections.unmodifiableList(rejectModules);
+    }
+
+    /**
+     * Returns the rejected jars
+     *
+     * @return the rejected jars, empty if not restricted
+     */
+    public List<String> getRejectJars() {
+        return Collections.unmodifiableList(rejectJars);
+    }
+
+    /**
+     * Returns the number of threads used to scan the class path
+     *
+     * @return the number of threads used to scan the class path
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns whether the class path is never scanned for controllers
+     *
+     * @return true if the class path is never scanned for controllers
+     */
+    public boolean isScanningDisabled() {
+        return scanningDisabled;
+    }
+
+    /**
+     * Applies all the restrictions, used to discover the controllers
+     */
+    ClassGraph applyTo(ClassGraph classGraph) {
+        if (!acceptPackages.isEmpty())
+            classGraph.acceptPackages(acceptPackages.toArray(new String[0]));
+        if (!rejectPackages.isEmpty())
+            classGraph.rejectPackages(rejectPackages.toArray(new String[0]));
+        return applyToResources(classGraph);
+    }
+
+    /**
+     * Applies the module and jar restrictions only, used to find resources
+     */
+    ClassGraph applyToResources(ClassGraph classGraph) {
+        if (!acceptModules.isEmpty())
+            classGraph.acceptModules(acceptModules.toArray(new String[0]));
+        if (!rejectModules.isEmpty())
+            classGraph.rejectModules(rejectModules.toArray(new String[0]));
+        if (!rejectJars.isEmpty())
+            classGraph.rejectJars(rejectJars.toArray(new String[0]));
+        return classGraph;
+    }
+
+    /**
+     * Describes the restrictions affecting the results of the scans, used to key the {@link ScanCache}
+     */
+    String key() {
+        return acceptPackages + "|" + rejectPackages + "|" + acceptModules + "|" + rejectModules + "|" + rejectJars;
+    }
+}
@@ -25,7 +25,6 @@ package io.github.ossnass.fx;
 
 import io.github.ossnass.fx.exceptions.NotAnnotatedException;
 import io.github.ossnass.fx.keyboard.KBSManager;
-import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.geometry.NodeOrientation;
 import javafx.scene.Scene;
@@ -34,7 +33,10 @@ import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The main class of the library, it is used as a controller for FXML files by extending
@@ -81,6 +83,22 @@ public abstract class SimpleController {
      */
     protected ControllerInfo info;
 
+
+    /**
+     * The state of the controller in the leak detector, null unless leak detection is enabled
+     */
+    LeakDetector.Tracker leakTracker;
+
+    /**
+     * The texts of the FXML file set from the language file, translated by {@link ControlMaster#switchLanguage(String)}
+     */
+    List<LanguageTracker.LocalizedText> localizedTexts = Collections.emptyList();
+
+    /**
+     * Whether the controller was discarded by {@link SimpleController#release()}
+     */
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
     /**
      * Creates a new simple contoller
      */
@@ -92,14 +110,39 @@ public abstract class SimpleController {
 
     @FXML
     void initialize() {
+        applyOrientation();
+        kbsm = new KBSManager(root);
+        if (StartupProfiler.active() == null) {
+            userInit();
+            return;
+        }
+        long begin = System.nanoTime();
+        try {
+            userInit();
+        } finally {
+            StartupProfiler.userInit(getId(), System.nanoTime() - begin);
+        }
+    }
+
+    private void applyOrientation() {
         //critical for RTL languages
         if (this.resources.getString("LANG.DIR").equalsIgnoreCase("RTL")) {
             this.root.setNodeOrientation(NodeOrientation.RIGHT_TO_LEFT);
         } else {
             this.root.setNodeOrientation(NodeOrientation.LEFT_TO_RIGHT);
         }
-        kbsm = new KBSManager(root);
-        userInit();
+    }
+
+    /**
+     * Translates the controller after the language was switched, called on the JavaFX thread
+     */
+    void languageChanged() {
+        for (LanguageTracker.LocalizedText text : localizedTexts)
+            text.update(resources);
+        applyOrientation();
+        if (stage != null)
+            setTitle();
+        onLanguageChanged();
     }
 
     /**
@@ -137,17 +180,15 @@ public abstract class SimpleController {
      * @param scene the new scene, can be null
      */
     public void setScene(Scene scene) {
-        if (this.scene != null)
+        if (this.scene != null) {
+            StylesheetManager.INSTANCE.unregister(this.scene);
             this.scene.setRoot(null);
+        }
         this.scene = scene;
         if (this.scene != null) {
             this.scene.setRoot(root);
-            if (!ControlMaster.getControlMaster().getCSSes().isEmpty()) {
-                ControlMaster.getControlMaster().getCSSes().forEach(url -> scene.getStylesheets().add(url));
-            }
-            if (!info.CSS().isEmpty())
-                scene.getStylesheets().add(info.CSS());
-            ControlMaster.getControlMaster().addChangeListener(this::onChanged);
+            //the global CSS files first, then the CSS of the controller
+            StylesheetManager.INSTANCE.register(this.scene, info.CSS());
         }
         if (this.stage != null)
             stage.setScene(this.scene);
@@ -183,7 +224,7 @@ public abstract class SimpleController {
             //fixes a bug where the stage size is not calculated properly,
             // because nodes sizes are only calculated when they are shown on the screen
             this.stage.setOnShown(this::stageOnShow);
-            this.stage.setOnHidden(this::onStageCloseUser);
+            this.stage.setOnHidden(this::stageOnClose);
             this.stage.setScene(this.scene);
         }
     }
@@ -194,6 +235,7 @@ public abstract class SimpleController {
      * @param event the window event
      */
     private void stageOnShow(WindowEvent event) {
+        reopen();
         if (!this.stage.isMaximized() || !this.stage.isFullScreen()) {
             this.stage.sizeToScene();
             this.stage.setWidth(this.stage.getWidth());
@@ -205,10 +247,42 @@ public abstract class SimpleController {
 
     private void stageOnClose(WindowEvent event) {
         if (info.Type() == ContollerType.MULTIPLE_INSTANCE)
-            ControlMaster.getControlMaster().removeChangeListener(this::onChanged);
+            release();
         onStageCloseUser(event);
+        if (info.Type() == ContollerType.POOLED)
+            ControlMaster.getControlMaster().recycle(this);
+    }
+
+    /**
+     * Detaches the scene of the controller from the global CSS list, called when the controller is discarded.
+     * <p>
+     * Only the first call after the controller was loaded or shown again has an effect.
+     */
+    void release() {
+        if (!released.compareAndSet(false, true))
+            return;
+        if (scene != null)
+            StylesheetManager.INSTANCE.unregister(scene);
+        ControlMaster.getControlMaster().released(this);
+        if (leakTracker != null)
+            LeakDetector.closed(this);
+    }
+
+    /**
+     * Undoes {@link SimpleController#release()} when the stage of a discarded controller is shown again,
+     * for example a {@link ContollerType#MULTIPLE_INSTANCE} controller kept by the application after its stage was hidden
+     */
+    private void reopen() {
+        if (!released.compareAndSet(true, false))
+            return;
+        if (scene != null)
+            StylesheetManager.INSTANCE.register(scene, info.CSS());
+        ControlMaster.getControlMaster().reopened(this);
+        if (leakTracker != null)
+            LeakDetector.reopened(this);
     }
 
+
     /**
      * Must be overridden by the user to implement there own code that execute when the stage is closed.
      * <p>
@@ -247,22 +321,28 @@ public abstract class SimpleController {
     protected void onStageShowUser() {
     }
 
+    /**
+     * Can be overridden by the user to reset the state of a {@link ContollerType#POOLED} controller,
+     * called when the stage is hidden, before the controller is returned to the pool.
+     */
+    protected void onRecycle() {
+    }
 
     /**
-     * Used to track changes in the css list
+     * Can be overridden by the user to save the state of a {@link ContollerType#SINGLE_INSTANCE_ON_DEMAND} controller
+     * before it is evicted from memory, see {@link ControlMaster#setOnDemandLimit(int)}.
      * <p>
-     * *********************************
-     * *<b>MUST NOT BE USED BY USER</b>*
-     * *********************************
-     *
-     * @param c the change in the css list
+     * The next request for the controller creates a new instance.
      */
-    void onChanged(ListChangeListener.Change<? extends String> c) {
-        while (c.next()) {
-            if (c.wasAdded())
-                c.getAddedSubList().forEach(url -> scene.getStylesheets().add(url));
-            else if (c.wasRemoved())
-                c.getRemoved().forEach(url -> scene.getStylesheets().remove(url));
-        }
+    protected void onEvict() {
+    }
+
+    /**
+     * Can be overridden by the user to translate the texts set in code,
+     * called after {@link ControlMaster#switchLanguage(String)} translated the texts of the FXML file.
+     * <p>
+     * {@link #resources} already holds the new language.
+     */
+    protected void onLanguageChanged() {
     }
 }
@@ -0,0 +1,358 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The timings recorded while initializing {@link ControlMaster}, see {@link ControlMaster#setStartupProfiling(boolean)}.
+ * <p>
+ * The profile is made of the phases of the initialization (language, discovery of the controllers, loading of the
+ * startup controllers, ...) and of the timings of each controller loaded during the initialization, along with the
+ * resource lookups done through {@link ResourceManager} while loading it.
+ * <p>
+ * All the times are in nanoseconds, the profile can be printed using {@link StartupProfile#toText()}
+ * or exported using {@link StartupProfile#toJson()}.
+ */
+public final class StartupProfile {
+    private final long totalNanos;
+    private final List<Phase> phases;
+    private final List<ControllerTiming> controllers;
+    private final List<ResourceLookup> resourceLookups;
+
+    StartupProfile(long totalNanos, List<Phase> phases, List<ControllerTiming> controllers, List<ResourceLookup> resourceLookups) {
+        this.totalNanos = totalNanos;
+        this.phases = Collections.unmodifiableList(new ArrayList<>(phases));
+        this.controllers = Collections.unmodifiableList(new ArrayList<>(controllers));
+        this.resourceLookups = Collections.unmodifiableList(new ArrayList<>(resourceLookups));
+    }
+
+    /**
+     * Returns the duration of the whole initialization
+     *
+     * @return the duration of the whole initialization in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the phases of the initialization in the order they started
+     *
+     * @return the phases of the initialization
+     */
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Returns the timings of the controllers loaded during the initialization
+     *
+     * @return the timings of the controllers in the order they were loaded
+     */
+    public List<ControllerTiming> getControllers() {
+        return controllers;
+    }
+
+    /**
+     * Returns the slowest controllers loaded during the initialization
+     *
+     * @param count the maximum number of controllers to return
+     * @return the slowest controllers, slowest first
+     */
+    public List<ControllerTiming> getSlowestControllers(int count) {
+        List<ControllerTiming> res = new ArrayList<>(controllers);
+        res.sort(Comparator.comparingLong(ControllerTiming::getTotalNanos).reversed());
+        return res.subList(0, Math.min(Math.max(count, 0), res.size()));
+    }
+
+    /**
+     * Returns the resource lookups done during the initialization outside of the loading of a controller
+     *
+     * @return the resource lookups not related to a controller
+     */
+    public List<ResourceLookup> getResourceLookups() {
+        return resourceLookups;
+    }
+
+    /**
+     * Formats the profile as a human readable report, listing the phases and the 10 slowest controllers
+     *
+     * @return the report
+     */
+    public String toText() {
+        StringBuilder res = new StringBuilder();
+        res.append("SimpleFX startup: ").append(millis(totalNanos)).append('\n');
+        res.append("Phases:\n");
+        for (Phase phase : phases)
+            res.append(String.format(Locale.ROOT, "  %-24s %12s  (at %s)%n", phase.name, millis(phase.durationNanos), millis(phase.startNanos)));
+        res.append("Slowest controllers:\n");
+        for (ControllerTiming controller : getSlowestControllers(10)) {
+            res.append(String.format(Locale.ROOT, "  %-24s %12s  load %s, userInit %s, scene %s%n", controller.id,
+                    millis(controller.getTotalNanos()), millis(controller.loadNanos), millis(controller.userInitNanos), millis(controller.sceneNanos)));
+            for (ResourceLookup lookup : controller.resourceLookups)
+                appendLookup(res, "    ", lookup);
+        }
+        if (!resourceLookups.isEmpty()) {
+            res.append("Other resource lookups:\n");
+            for (ResourceLookup lookup : resourceLookups)
+                appendLookup(res, "  ", lookup);
+        }
+        return res.toString();
+    }
+
+    /**
+     * Formats the profile as a JSON object
+     *
+     * @return the JSON representation of the profile
+     */
+    public String toJson() {
+        StringBuilder res = new StringBuilder();
+        res.append("{\"totalNanos\":").append(totalNanos).append(",\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            if (i > 0)
+                res.append(',');
+            res.append("{\"name\":").append(quote(phase.name))
+                    .append(",\"startNanos\":").append(phase.startNanos)
+                    .append(",\"durationNanos\":").append(phase.durationNanos).append('}');
+        }
+        res.append("],\"controllers\":[");
+        for (int i = 0; i < controllers.size(); i++) {
+            ControllerTiming controller = controllers.get(i);
+            if (i > 0)
+                res.append(',');
+            res.append("{\"id\":").append(quote(controller.id))
+                    .append(",\"loadNanos\":").append(controller.loadNanos)
+                    .append(",\"userInitNanos\":").append(controller.userInitNanos)
+                    .append(",\"sceneNanos\":").append(controller.sceneNanos)
+                    .append(",\"resourceLookups\":");
+            appendLookups(res, controller.resourceLookups);
+            res.append('}');
+        }
+        res.append("],\"resourceLookups\":");
+        appendLookups(res, resourceLookups);
+        return res.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+    private static void appendLookup(StringBuilder res, String indent, ResourceLookup lookup) {
+        res.append(String.format(Locale.ROOT, "%s%s %s%s%n", indent, lookup.path, millis(lookup.durationNanos), lookup.found ? "" : " (not found)"));
+    }
+
+    private static void appendLookups(StringBuilder res, List<ResourceLookup> lookups) {
+        res.append('[');
+        for (int i = 0; i < lookups.size(); i++) {
+            ResourceLookup lookup = lookups.get(i);
+            if (i > 0)
+                res.append(',');
+            res.append("{\"path\":").append(quote(lookup.path))
+                    .append(",\"durationNanos\":").append(lookup.durationNanos)
+                    .append(",\"found\":").append(lookup.found).append('}');
+        }
+        res.append(']');
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder res = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\')
+                res.append('\\').append(c);
+            else if (c < 0x20)
+                res.append(String.format("\\u%04x", (int) c));
+            else
+                res.append(c);
+        }
+        return res.append('"').toString();
+    }
+
+    /**
+     * A phase of the initialization
+     */
+    public static final class Phase {
+        private final String name;
+        private final long startNanos;
+        private final long durationNanos;
+
+        Phase(String name, long startNanos, long durationNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Returns the name of the phase
+         *
+         * @return the name of the phase
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns when the phase started, relative to the start of the initialization
+         *
+         * @return the start of the phase in nanoseconds
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * Returns the duration of the phase
+         *
+         * @return the duration of the phase in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    /**
+     * The timings of a controller loaded during the initialization
+     */
+    public static final class ControllerTiming {
+        private final String id;
+        private final long loadNanos;
+        private final long userInitNanos;
+        private final long sceneNanos;
+        private final List<ResourceLookup> resourceLookups;
+
+        ControllerTiming(String id, long loadNanos, long userInitNanos, long sceneNanos, List<ResourceLookup> resourceLookups) {
+            this.id = id;
+            this.loadNanos = loadNanos;
+            this.userInitNanos = userInitNanos;
+            this.sceneNanos = sceneNanos;
+            this.resourceLookups = Collections.unmodifiableList(new ArrayList<>(resourceLookups));
+        }
+
+        /**
+         * Returns the Id of the controller
+         *
+         * @return the Id of the controller
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the time spent loading the FXML file and constructing the nodes, including {@link SimpleController#userInit()}
+         *
+         * @return the load time in nanoseconds
+         */
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        /**
+         * Returns the time spent in {@link SimpleController#userInit()}
+         *
+         * @return the time spent in userInit in nanoseconds
+         */
+        public long getUserInitNanos() {
+            return userInitNanos;
+        }
+
+        /**
+         * Returns the time spent creating the scene and applying the stylesheets
+         *
+         * @return the scene creation time in nanoseconds
+         */
+        public long getSceneNanos() {
+            return sceneNanos;
+        }
+
+        /**
+         * Returns the total time spent on the controller
+         *
+         * @return the load time and the scene creation time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return loadNanos + sceneNanos;
+        }
+
+        /**
+         * Returns the resource lookups done while loading the controller
+         *
+         * @return the resource lookups of the controller
+         */
+        public List<ResourceLookup> getResourceLookups() {
+            return resourceLookups;
+        }
+    }
+
+    /**
+     * A lookup done through {@link ResourceManager#getURL(String)}
+     */
+    public static final class ResourceLookup {
+        private final String path;
+        private final long durationNanos;
+        private final boolean found;
+
+        ResourceLookup(String path, long durationNanos, boolean found) {
+            this.path = path;
+            this.durationNanos = durationNanos;
+            this.found = found;
+        }
+
+        /**
+         * Returns the path of the resource
+         *
+         * @return the path of the resource
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the duration of the lookup, including any class path scan it triggered
+         *
+         * @return the duration of the lookup in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns whether the resource was found
+         *
+         * @return true if the resource was found
+         */
+        public boolean isFound() {
+            return found;
+        }
+    }
+}
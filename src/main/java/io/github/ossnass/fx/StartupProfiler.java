@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the timings of the initialization of {@link ControlMaster} into a {@link StartupProfile}.
+ * <p>
+ * Only one profiler is active at a time, the hooks in {@link ResourceManager} and {@link SimpleController}
+ * do nothing unless a profiler is active, the resource lookups are attributed to the controller being loaded
+ * by the current thread.
+ */
+final class StartupProfiler {
+    private static volatile StartupProfiler active = null;
+    private static final ThreadLocal<Record> current = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final List<StartupProfile.Phase> phases = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Record> controllers = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<StartupProfile.ResourceLookup> resourceLookups = Collections.synchronizedList(new ArrayList<>());
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Starts recording, replacing the active profiler if any
+     */
+    static StartupProfiler start() {
+        StartupProfiler res = new StartupProfiler();
+        active = res;
+        return res;
+    }
+
+    /**
+     * Returns the active profiler
+     *
+     * @return the active profiler, null if the initialization is not profiled
+     */
+    static StartupProfiler active() {
+        return active;
+    }
+
+    /**
+     * Stops recording and returns the recorded profile
+     */
+    StartupProfile finish() {
+        if (active == this)
+            active = null;
+        List<StartupProfile.ControllerTiming> timings = new ArrayList<>();
+        synchronized (controllers) {
+            for (Record record : controllers.values())
+                timings.add(record.toTiming());
+        }
+        synchronized (phases) {
+            synchronized (resourceLookups) {
+                return new StartupProfile(System.nanoTime() - start, phases, timings, resourceLookups);
+            }
+        }
+    }
+
+    /**
+     * Records a phase that started at the given time and ends now
+     *
+     * @param name  the name of the phase
+     * @param begin the value of {@link System#nanoTime()} when the phase started
+     * @return the end of the phase, to be used as the start of the next one
+     */
+    long phase(String name, long begin) {
+        long end = System.nanoTime();
+        phases.add(new StartupProfile.Phase(name, begin - start, end - begin));
+        return end;
+    }
+
+    /**
+     * Marks the current thread as loading the controller, until {@link StartupProfiler#exitController()}
+     */
+    void enterController(String id) {
+        current.set(record(id));
+    }
+
+    void exitController() {
+        current.remove();
+    }
+
+    void addLoad(String id, long nanos) {
+        record(id).load.addAndGet(nanos);
+    }
+
+    void addScene(String id, long nanos) {
+        record(id).scene.addAndGet(nanos);
+    }
+
+    private Record record(String id) {
+        synchronized (controllers) {
+            return controllers.computeIfAbsent(id, Record::new);
+        }
+    }
+
+    /**
+     * Records the time spent in {@link SimpleController#userInit()}, if the initialization is profiled
+     */
+    static void userInit(String id, long nanos) {
+        StartupProfiler profiler = active;
+        if (profiler != null)
+            profiler.record(id).userInit.addAndGet(nanos);
+    }
+
+    /**
+     * Records a lookup of {@link ResourceManager}, if the initialization is profiled
+     */
+    static void resourceLookup(String path, long nanos, boolean found) {
+        StartupProfiler profiler = active;
+        if (profiler == null)
+            return;
+        StartupProfile.ResourceLookup lookup = new StartupProfile.ResourceLookup(path, nanos, found);
+        Record record = current.get();
+        if (record != null)
+            record.resourceLookups.add(lookup);
+        else
+            profiler.resourceLookups.add(lookup);
+    }
+
+    private static final class Record {
+        final String id;
+        final AtomicLong load = new AtomicLong();
+        final AtomicLong userInit = new AtomicLong();
+        final AtomicLong scene = new AtomicLong();
+        final List<StartupProfile.ResourceLookup> resourceLookups = Collections.synchronizedList(new ArrayList<>());
+
+        Record(String id) {
+            this.id = id;
+        }
+
+        StartupProfile.ControllerTiming toTiming() {
+            synchronized (resourceLookups) {
+                return new StartupProfile.ControllerTiming(id, load.get(), userInit.get(), scene.get(), resourceLookups);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable table of strings used by {@link MultiSourceResourceBundle} to hold the keys of a language.
+ * <p>
+ * The keys are kept sorted in an array, indexed by an open addressing hash table of ints, and equal values share
+ * the same string, so a lookup doesn't allocate and a table takes a fraction of the memory of a {@link HashMap}.
+ * <p>
+ * Adding keys creates a new table, see {@link StringTable#merge(Map)}.
+ */
+final class StringTable implements LanguageTable {
+    static final StringTable EMPTY = new StringTable(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+    private final int[] slots;
+    private final Set<String> keySet;
+
+    /**
+     * Creates a table from keys sorted in ascending order and their values, the arrays are not copied
+     */
+    StringTable(String[] keys, String[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("Every key must have a value");
+        this.keys = keys;
+        this.values = values;
+        this.slots = index(keys);
+        this.keySet = new KeySet();
+    }
+
+    /**
+     * Creates the open addressing hash table of distinct keys, each slot holds the index of a key plus one,
+     * 0 is an empty slot.
+     * <p>
+     * The same layout is written to language packs, see {@link LanguagePackConverter}.
+     */
+    static int[] index(String[] keys) {
+        int[] slots = new int[capacityFor(keys.length)];
+        int mask = slots.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = spread(keys[i].hashCode()) & mask;
+            while (slots[slot] != 0) {
+                if (keys[slots[slot] - 1].equals(keys[i]))
+                    throw new IllegalArgumentException("Duplicate key " + keys[i]);
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the number of slots for a number of keys, a power of 2 at least twice the number of keys
+     */
+    static int capacityFor(int size) {
+        return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+    }
+
+    /**
+     * Creates a table from the entries of a map, usually a {@link java.util.Properties}
+     *
+     * @param entries the entries, the keys and values are converted to strings
+     * @return the new table
+     */
+    static StringTable of(Map<?, ?> entries) {
+        return EMPTY.merge(entries);
+    }
+
+    /**
+     * Creates a new table with the entries of this table, and the entries of the map whose key is not in this table
+     *
+     * @param entries the entries to add, the keys and values are converted to strings
+     * @return the new table
+     */
+    @Override
+    public StringTable merge(Map<?, ?> entries) {
+        Map<String, String> merged = new HashMap<>(keys.length + entries.size());
+        for (Map.Entry<?, ?> entry : entries.entrySet())
+            merged.put(entry.getKey().toString(), entry.getValue().toString());
+        for (int i = 0; i < keys.length; i++)
+            merged.put(keys[i], values[i]);
+        String[] newKeys = merged.keySet().toArray(new String[0]);
+        Arrays.sort(newKeys);
+        String[] newValues = new String[newKeys.length];
+        Map<String, String> pool = new HashMap<>();
+        for (int i = 0; i < newKeys.length; i++) {
+            String value = merged.get(newKeys[i]);
+            String shared = pool.putIfAbsent(value, value);
+            newValues[i] = shared != null ? shared : value;
+        }
+        return new StringTable(newKeys, newValues);
+    }
+
+    /**
+     * Creates a table holding the keys of several tables, the value of each key is taken from the first table
+     * containing it, so a language and its fallbacks are looked up in a single table.
+     * <p>
+     * The keys and values are taken from the pool when an equal string is already in it, otherwise they are added
+     * to it, so the tables created using the same pool share their strings.
+     *
+     * @param chain the tables in the order of precedence
+     * @param pool  the strings shared between the tables, not thread safe
+     * @return the new table
+     */
+    static StringTable flatten(List<? extends LanguageTable> chain, Map<String, String> pool) {
+        Map<String, String> merged = new HashMap<>();
+        for (LanguageTable table : chain)
+            for (String key : table.keySet())
+                if (!merged.containsKey(key))
+                    merged.put(key, table.get(key));
+        String[] newKeys = merged.keySet().toArray(new String[0]);
+        Arrays.sort(newKeys);
+        String[] newValues = new String[newKeys.length];
+        for (int i = 0; i < newKeys.length; i++) {
+            newValues[i] = share(merged.get(newKeys[i]), pool);
+            newKeys[i] = share(newKeys[i], pool);
+        }
+        return new StringTable(newKeys, newValues);
+    }
+
+    private static String share(String value, Map<String, String> pool) {
+        String shared = pool.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * Returns the value of a key
+     *
+     * @param key the key
+     * @return the value of the key, null if the table doesn't contain it
+     */
+    @Override
+    public String get(String key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the keys of the table, the same immutable set on every call
+     *
+     * @return the keys of the table in ascending order
+     */
+    @Override
+    public Set<String> keySet() {
+        return keySet;
+    }
+
+    private int indexOf(String key) {
+        int mask = slots.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        int index;
+        while ((index = slots[slot]) != 0) {
+            if (keys[index - 1].equals(key))
+                return index - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        private final List<String> list = Collections.unmodifiableList(Arrays.asList(keys));
+
+        @Override
+        public Iterator<String> iterator() {
+            return list.iterator();
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && indexOf((String) o) >= 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import javafx.scene.Scene;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the global CSS list of {@link ControlMaster#getCSSes()} to the scenes of the controllers.
+ * <p>
+ * The scenes are held through weak references, so a scene that is no longer used can be garbage collected
+ * along with its controller without being unregistered.
+ * <p>
+ * Changes to the global CSS list are batched: any number of changes made in the same pulse are applied once,
+ * on the next pulse, using a single {@link javafx.collections.ObservableList#setAll(java.util.Collection)} per scene,
+ * so each scene is restyled once per theme switch.
+ * All the scenes share the same URL strings, so the parsed stylesheets are reused from the JavaFX style cache.
+ * <p>
+ * A CSS file compiled to the binary format of JavaFX by the compile-css goal of simplefx-maven-plugin is replaced
+ * by its .bss sibling, unless the system property "binary.css" is set to false.
+ */
+final class StylesheetManager {
+    static final StylesheetManager INSTANCE = new StylesheetManager();
+
+    /**
+     * The scenes with the global stylesheets last applied to each of them, guarded by this
+     */
+    private final Map<Scene, List<String>> scenes = new WeakHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ConcurrentHashMap<String, String> binaries = new ConcurrentHashMap<>();
+    private volatile List<String> globals = List.of();
+
+    private StylesheetManager() {
+    }
+
+    /**
+     * Replaces the global stylesheets, the scenes are updated on the next pulse
+     *
+     * @param stylesheets the new global stylesheets
+     */
+    void setGlobals(List<String> stylesheets) {
+        globals = stylesheets.stream().map(this::resolve).collect(Collectors.toUnmodifiableList());
+        if (flushScheduled.compareAndSet(false, true))
+            ControlMaster.runLater(this::flush);
+    }
+
+    /**
+     * Applies the global stylesheets followed by the stylesheet of the controller to a scene, and keeps it up to date.
+     * <p>
+     * The stylesheets already added to the scene by the user are kept after them.
+     *
+     * @param scene the scene of the controller
+     * @param css   the stylesheet of the controller, can be empty
+     */
+    synchronized void register(Scene scene, String css) {
+        List<String> current = globals;
+        List<String> previous = scenes.getOrDefault(scene, List.of());
+        List<String> own = css.isEmpty() ? List.of() : List.of(resolve(css));
+        apply(scene, previous, current, own);
+        scenes.put(scene, current);
+    }
+
+    /**
+     * Stops updating a scene, its stylesheets are left as they are
+     *
+     * @param scene the scene
+     */
+    synchronized void unregister(Scene scene) {
+        scenes.remove(scene);
+    }
+
+    /**
+     * Returns the number of scenes kept up to date
+     *
+     * @return the number of registered scenes that were not garbage collected
+     */
+    synchronized int size() {
+        return scenes.size();
+    }
+
+    /**
+     * Returns the compiled sibling of a CSS file if it exists, the stylesheet itself otherwise
+     *
+     * @param stylesheet the URL or resource path of the stylesheet
+     * @return the stylesheet to add to the scenes
+     */
+    String resolve(String stylesheet) {
+        if (!stylesheet.endsWith(".css") || "false".equalsIgnoreCase(System.getProperty("binary.css")))
+            return stylesheet;
+        return binaries.computeIfAbsent(stylesheet, StylesheetManager::findBinary);
+    }
+
+    private static String findBinary(String css) {
+        String bss = css.substring(0, css.length() - ".css".length()) + ".bss";
+        try {
+            URI uri = new URI(bss);
+            //resource paths are resolved by JavaFX in the class path, like ResourceManager does
+            if (uri.getScheme() == null)
+                return ResourceManager.getURL(bss) != null ? bss : css;
+            if ("file".equalsIgnoreCase(uri.getScheme()))
+                return Files.isRegularFile(Paths.get(uri)) ? bss : css;
+        } catch (URISyntaxException | MalformedURLException | IllegalArgumentException e) {
+            //not a valid URL, left to JavaFX
+        }
+        return css;
+    }
+
+    private synchronized void flush() {
+        flushScheduled.set(false);
+        List<String> current = globals;
+        for (Map.Entry<Scene, List<String>> entry : scenes.entrySet()) {
+            if (entry.getValue() == current)
+                continue;
+            apply(entry.getKey(), entry.getValue(), current, List.of());
+            entry.setValue(current);
+        }
+    }
+
+    /**
+     * Replaces the previous global stylesheets of a scene with the current ones in a single change
+     */
+    private static void apply(Scene scene, List<String> previous, List<String> current, List<String> own) {
+        List<String> rest = new ArrayList<>(scene.getStylesheets());
+        for (String url : previous)
+            rest.remove(url);
+        List<String> res = new ArrayList<>(current.size() + own.size() + rest.size());
+        res.addAll(current);
+        for (String url : own)
+            if (!res.contains(url))
+                res.add(url);
+        for (String url : rest)
+            if (!res.contains(url))
+                res.add(url);
+        if (!res.equals(scene.getStylesheets()))
+            scene.getStylesheets().setAll(res);
+    }
+}
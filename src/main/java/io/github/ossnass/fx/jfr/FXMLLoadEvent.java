@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when the FXML file of a controller is loaded and its nodes are constructed
+ */
+@Name("io.github.ossnass.fx.FXMLLoad")
+@Label("FXML Load")
+@Category("SimpleFX")
+@Description("The FXML file of a controller loaded and its nodes constructed")
+@StackTrace(false)
+public class FXMLLoadEvent extends jdk.jfr.Event {
+    @Label("Controller Id")
+    public String controllerId;
+
+    @Label("FXML File")
+    public String fxmlFile;
+
+    @Label("Cache Hit")
+    @Description("The FXML file was already resolved and read by a previous load")
+    public boolean cacheHit;
+
+    @Label("Compiled")
+    @Description("The nodes were constructed by a view compiled at build time instead of FXMLLoader")
+    public boolean compiled;
+}
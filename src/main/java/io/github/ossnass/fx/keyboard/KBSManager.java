@@ -24,11 +24,15 @@
 
 package io.github.ossnass.fx.keyboard;
 
+import io.github.ossnass.fx.jfr.ShortcutDispatchEvent;
+import io.github.ossnass.fx.metrics.Counter;
+import io.github.ossnass.fx.metrics.Metrics;
 import javafx.scene.Node;
 import javafx.scene.input.KeyEvent;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 
 /**
@@ -37,6 +41,8 @@ import java.util.Iterator;
  * You can use it by calling {@link KBSManager#addKeyboardShortcut(String, KBShortcut)}
  */
 public class KBSManager {
+    private static final Counter dispatched = Metrics.counter("shortcuts.dispatched");
+    private static final Counter matchedShortcuts = Metrics.counter("shortcuts.matched");
     protected final HashMap<String, KBShortcut> keys;
     protected Node root;
 
@@ -63,13 +69,28 @@ public class KBSManager {
      */
     private void handleKeys(KeyEvent e) {
         if (!this.root.isDisabled()) {
-            Iterator<KBShortcut> keysItr = this.keys.values().iterator();
+            ShortcutDispatchEvent event = new ShortcutDispatchEvent();
+            event.begin();
+            String matched = null;
+            int checked = 0;
+            Iterator<Map.Entry<String, KBShortcut>> keysItr = this.keys.entrySet().iterator();
             while (keysItr.hasNext()) {
-                KBShortcut kbs = keysItr.next();
-                if (kbs.checkAction(e)) {
+                Map.Entry<String, KBShortcut> kbs = keysItr.next();
+                checked++;
+                if (kbs.getValue().checkAction(e)) {
+                    matched = kbs.getKey();
                     break;
                 }
             }
+            dispatched.increment();
+            if (matched != null)
+                matchedShortcuts.increment();
+            if (event.shouldCommit()) {
+                event.key = String.valueOf(e.getCode());
+                event.shortcutId = matched;
+                event.shortcutsChecked = checked;
+                event.commit();
+            }
         }
     }
 
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default {@link MetricsRegistry}, keeps the metrics in memory.
+ * <p>
+ * Recording a metric doesn't lock, so it can be done from the hot paths of the library.
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null)
+            counter = counters.computeIfAbsent(name, n -> new AdderCounter());
+        return counter;
+    }
+
+    @Override
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        if (timer == null)
+            timer = timers.computeIfAbsent(name, n -> new AdderTimer());
+        return timer;
+    }
+
+    @Override
+    public void gauge(String name, Gauge gauge) {
+        if (gauge == null)
+            throw new IllegalArgumentException("Gauge cannot be null");
+        gauges.put(name, gauge);
+    }
+
+    @Override
+    public Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    @Override
+    public Map<String, Timer> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    @Override
+    public Map<String, Gauge> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    private static class AdderCounter implements Counter {
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public void add(long value) {
+            count.add(value);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    private static class AdderTimer implements Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public long getTotalNanos() {
+            return total.sum();
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return max.get();
+        }
+    }
+}
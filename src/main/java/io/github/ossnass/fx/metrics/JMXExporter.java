@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exports the metrics of the current {@link MetricsRegistry} as the read only attributes of the MBean
+ * "io.github.ossnass.fx:type=Metrics" of the platform MBean server, so they can be watched from jconsole.
+ * <p>
+ * Counters and gauges are exported by name, each timer is exported as 4 attributes:
+ * &lt;name&gt;.count, &lt;name&gt;.totalMillis, &lt;name&gt;.maxMillis and &lt;name&gt;.meanMillis.
+ * <p>
+ * The attributes are read from the registry on every request, so metrics created after the registration are exported too.
+ */
+public final class JMXExporter {
+    /**
+     * The name of the MBean
+     */
+    public static final String OBJECT_NAME = "io.github.ossnass.fx:type=Metrics";
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private JMXExporter() {
+    }
+
+    /**
+     * Registers the MBean in the platform MBean server, does nothing if it is already registered
+     *
+     * @throws IllegalStateException if the MBean server refuses the registration
+     */
+    public static synchronized void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(new MetricsMBean(), name);
+        } catch (InstanceAlreadyExistsException e) {
+            //registered by another class loader, nothing to do
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the MBean " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Removes the MBean from the platform MBean server, does nothing if it isn't registered
+     *
+     * @throws IllegalStateException if the MBean server refuses the removal
+     */
+    public static synchronized void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister the MBean " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Returns whether the MBean is registered in the platform MBean server
+     *
+     * @return true if the MBean is registered
+     */
+    public static boolean isRegistered() {
+        try {
+            return ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    private static class MetricsMBean implements DynamicMBean {
+
+        /**
+         * Reads all the metrics of the registry, sorted by attribute name
+         */
+        private static Map<String, Object> snapshot() {
+            MetricsRegistry registry = Metrics.getRegistry();
+            Map<String, Object> res = new TreeMap<>();
+            registry.getCounters().forEach((name, counter) -> res.put(name, counter.getCount()));
+            registry.getGauges().forEach((name, gauge) -> res.put(name, gauge.getValue()));
+            registry.getTimers().forEach((name, timer) -> {
+                res.put(name + ".count", timer.getCount());
+                res.put(name + ".totalMillis", timer.getTotalNanos() / NANOS_PER_MILLI);
+                res.put(name + ".maxMillis", timer.getMaxNanos() / NANOS_PER_MILLI);
+                res.put(name + ".meanMillis", timer.getMeanNanos() / NANOS_PER_MILLI);
+            });
+            return res;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object value = snapshot().get(attribute);
+            if (value == null)
+                throw new AttributeNotFoundException(attribute);
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            Map<String, Object> values = snapshot();
+            AttributeList res = new AttributeList();
+            for (String attribute : attributes) {
+                Object value = values.get(attribute);
+                if (value != null)
+                    res.add(new Attribute(attribute, value));
+            }
+            return res;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("The SimpleFX metrics are read only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            //the MBean has no operations
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            snapshot().forEach((name, value) -> attributes.add(new MBeanAttributeInfo(name, value.getClass().getName(),
+                    name, true, false, false)));
+            return new MBeanInfo(getClass().getName(), "The metrics of SimpleFX",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.metrics;
+
+/**
+ * Holds the {@link MetricsRegistry} used by SimpleFX, a {@link DefaultMetricsRegistry} unless replaced.
+ * <p>
+ * The registry must be replaced before initializing {@link io.github.ossnass.fx.ControlMaster},
+ * the metrics already created stay in the previous registry.
+ */
+public final class Metrics {
+    private static volatile MetricsRegistry registry = new DefaultMetricsRegistry();
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the registry used by SimpleFX
+     *
+     * @return the registry used by SimpleFX
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Replaces the registry used by SimpleFX
+     *
+     * @param registry the new registry, cannot be null
+     */
+    public static void setRegistry(MetricsRegistry registry) {
+        if (registry == null)
+            throw new IllegalArgumentException("The metrics registry cannot be null");
+        Metrics.registry = registry;
+    }
+
+    /**
+     * Returns the counter with the name from the current registry, see {@link MetricsRegistry#counter(String)}
+     *
+     * @param name the name of the counter
+     * @return the counter
+     */
+    public static Counter counter(String name) {
+        return registry.counter(name);
+    }
+
+    /**
+     * Returns the timer with the name from the current registry, see {@link MetricsRegistry#timer(String)}
+     *
+     * @param name the name of the timer
+     * @return the timer
+     */
+    public static Timer timer(String name) {
+        return registry.timer(name);
+    }
+
+    /**
+     * Registers a gauge in the current registry, see {@link MetricsRegistry#gauge(String, Gauge)}
+     *
+     * @param name  the name of the gauge
+     * @param gauge the gauge
+     */
+    public static void gauge(String name, Gauge gauge) {
+        registry.gauge(name, gauge);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.metrics;
+
+import java.util.Map;
+
+/**
+ * The service provider interface of the metrics, creates and keeps the metrics by name.
+ * <p>
+ * The default implementation is {@link DefaultMetricsRegistry}, another implementation can be used to forward
+ * the metrics of SimpleFX to a metrics library by passing it to {@link Metrics#setRegistry(MetricsRegistry)}.
+ * <p>
+ * Implementations must be thread safe, metrics are recorded from any thread.
+ */
+public interface MetricsRegistry {
+    /**
+     * Returns the counter with the name, creating it if needed
+     *
+     * @param name the name of the counter
+     * @return the counter, the same instance for the same name
+     */
+    Counter counter(String name);
+
+    /**
+     * Returns the timer with the name, creating it if needed
+     *
+     * @param name the name of the timer
+     * @return the timer, the same instance for the same name
+     */
+    Timer timer(String name);
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name
+     *
+     * @param name  the name of the gauge
+     * @param gauge the gauge
+     */
+    void gauge(String name, Gauge gauge);
+
+    /**
+     * Returns the counters by name
+     *
+     * @return the counters by name
+     */
+    Map<String, Counter> getCounters();
+
+    /**
+     * Returns the timers by name
+     *
+     * @return the timers by name
+     */
+    Map<String, Timer> getTimers();
+
+    /**
+     * Returns the gauges by name
+     *
+     * @return the gauges by name
+     */
+    Map<String, Gauge> getGauges();
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx.metrics;
+
+/**
+ * A metric recording the duration of events, like the load of an FXML file
+ */
+public interface Timer {
+    /**
+     * Records the duration of an event
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    void record(long nanos);
+
+    /**
+     * Returns the number of recorded events
+     *
+     * @return the number of recorded events
+     */
+    long getCount();
+
+    /**
+     * Returns the sum of the durations of the recorded events
+     *
+     * @return the total duration in nanoseconds
+     */
+    long getTotalNanos();
+
+    /**
+     * Returns the longest recorded duration
+     *
+     * @return the longest duration in nanoseconds, 0 if nothing was recorded
+     */
+    long getMaxNanos();
+
+    /**
+     * Returns the mean duration of the recorded events
+     *
+     * @return the mean duration in nanoseconds, 0 if nothing was recorded
+     */
+    default double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+}
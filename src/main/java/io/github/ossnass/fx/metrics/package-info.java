@@ -0,0 +1,42 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+/**
+ * Provides the metrics of SimpleFX, counters, timers and gauges kept by a {@link io.github.ossnass.fx.metrics.MetricsRegistry}
+ * and exported to JMX by {@link io.github.ossnass.fx.metrics.JMXExporter}.
+ * <p>
+ * The metrics recorded by SimpleFX are:
+ * <ul>
+ *     <li>controllers.&lt;Id&gt;.requests: counter of the requests of a controller</li>
+ *     <li>controllers.&lt;Id&gt;.load: timer of the loads of the FXML file of a controller</li>
+ *     <li>controllers.&lt;Id&gt;.alive: gauge of the instances of a controller that were loaded and not discarded</li>
+ *     <li>fxml.cache.hits, fxml.cache.misses, fxml.cache.size: gauges of the FXML cache</li>
+ *     <li>stylesheets.scenes: gauge of the scenes kept up to date with the global CSS list</li>
+ *     <li>resources.lookups.hits, resources.lookups.misses: counters of the resource index lookups</li>
+ *     <li>resources.scans: counter of the class path scans made to find resources</li>
+ *     <li>settings.writes, settings.failures, settings.bytes: counters of the settings file writes</li>
+ *     <li>settings.store: timer of the settings file writes</li>
+ *     <li>shortcuts.dispatched, shortcuts.matched: counters of the key events handled by the keyboard shortcut managers</li>
+ * </ul>
+ */
+package io.github.ossnass.fx.metrics;
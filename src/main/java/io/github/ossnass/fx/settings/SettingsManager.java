@@ -24,6 +24,11 @@
 
 package io.github.ossnass.fx.settings;
 
+import io.github.ossnass.fx.jfr.SettingsStoreEvent;
+import io.github.ossnass.fx.metrics.Counter;
+import io.github.ossnass.fx.metrics.Metrics;
+import io.github.ossnass.fx.metrics.Timer;
+
 import java.io.*;
 import java.util.HashMap;
 import java.util.Properties;
@@ -51,6 +56,10 @@ import java.util.Set;
  * the setting is added automatically to the setting manager
  */
 public class SettingsManager {
+    private static final Timer storeTime = Metrics.timer("settings.store");
+    private static final Counter writes = Metrics.counter("settings.writes");
+    private static final Counter bytesWritten = Metrics.counter("settings.bytes");
+    private static final Counter failures = Metrics.counter("settings.failures");
     private Properties configuration;
     private File configFile;
     private HashMap<String, Setting> settings;
@@ -62,12 +71,33 @@ public class SettingsManager {
      * @param value   the string representation of the setting value
      */
     protected void storeSettings(String setting, String value) {
+        SettingsStoreEvent event = new SettingsStoreEvent();
+        event.begin();
+        long begin = System.nanoTime();
         configuration.setProperty(setting, value);
-        try {
-            configuration.store(new FileOutputStream(configFile.getAbsolutePath()), "");
+        boolean success = false;
+        //the settings are written to memory first to count the bytes written
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (FileOutputStream out = new FileOutputStream(configFile.getAbsolutePath())) {
+            configuration.store(content, "");
+            content.writeTo(out);
+            success = true;
         } catch (IOException e) {
             e.printStackTrace();
         }
+        storeTime.record(System.nanoTime() - begin);
+        if (success) {
+            writes.increment();
+            bytesWritten.add(content.size());
+        } else {
+            failures.increment();
+        }
+        if (event.shouldCommit()) {
+            event.setting = setting;
+            event.file = configFile.getAbsolutePath();
+            event.success = success;
+            event.commit();
+        }
     }
 
     /**
@@ -2,9 +2,14 @@ module simplefx {
     requires javafx.controls;
     requires javafx.fxml;
     requires io.github.classgraph;
+    requires jdk.jfr;
+    requires java.management;
     exports io.github.ossnass.fx;
     exports io.github.ossnass.fx.exceptions;
+    exports io.github.ossnass.fx.jfr;
     exports io.github.ossnass.fx.keyboard;
+    exports io.github.ossnass.fx.metrics;
     exports io.github.ossnass.fx.settings;
     opens io.github.ossnass.fx to javafx.fxml;
+    uses io.github.ossnass.fx.ControllerProvider;
 }
\ No newline at end of file
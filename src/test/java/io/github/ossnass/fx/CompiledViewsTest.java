@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledViewsTest {
+    @TempDir
+    static Path dir;
+    //the index is read once, so all the tests share the same class loader
+    private static ClassLoader loader;
+
+    static class View implements CompiledFXML {
+        @Override
+        public Class<?> getControllerClass() {
+            return Object.class;
+        }
+
+        @Override
+        public Object build(FXMLBinder binder) {
+            return null;
+        }
+    }
+
+    @BeforeAll
+    static void writeIndex() throws IOException {
+        Path index = dir.resolve(CompiledViews.LOCATION);
+        Files.createDirectories(index.getParent());
+        String content = "# fxml\tview\n"
+                + "fxmls/view.fxml\t" + View.class.getName() + "\n"
+                + "fxmls/view.fxml\t" + String.class.getName() + "\n"
+                + "fxmls/stale.fxml\tcom.example.MissingFXML\n"
+                + "fxmls/other.fxml\t" + String.class.getName() + "\n"
+                + "\n"
+                + "fxmls/broken.fxml\n";
+        Files.write(index, content.getBytes(StandardCharsets.UTF_8));
+        loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, CompiledViewsTest.class.getClassLoader());
+    }
+
+    @Test
+    void findsTheCompiledViews() {
+        CompiledFXML view = CompiledViews.find("/fxmls/view.fxml", loader);
+        assertTrue(view instanceof View);
+        assertSame(view, CompiledViews.find("fxmls/view.fxml", loader));
+    }
+
+    @Test
+    void leavesTheOtherFilesToFXMLLoader() {
+        assertNull(CompiledViews.find("/fxmls/missing.fxml", loader));
+        assertNull(CompiledViews.find("/fxmls/stale.fxml", loader));
+        assertNull(CompiledViews.find("/fxmls/other.fxml", loader));
+        assertNull(CompiledViews.find("/fxmls/broken.fxml", loader));
+    }
+}
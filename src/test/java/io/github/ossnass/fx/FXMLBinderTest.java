@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.ossnass.fx;
+
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.fxml.FXML;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FXMLBinderTest {
+    private static final ResourceBundle RESOURCES = new ListResourceBundle() {
+        @Override
+        protected Object[][] getContents() {
+            return new Object[][]{{"login.title", "Login"}};
+        }
+    };
+
+    static class Controller {
+        @FXML
+        Object title;
+        public Object status;
+        Object hidden;
+        @FXML
+        ResourceBundle resources;
+        Event submitted;
+        int resets;
+        int initialized;
+
+        @FXML
+        void submit(ActionEvent event) {
+            submitted = event;
+        }
+
+        @FXML
+        void reset() {
+            resets++;
+        }
+
+        void hidden() {
+        }
+
+        @FXML
+        void initialize() {
+            initialized++;
+        }
+    }
+
+    private static FXMLBinder binder(Controller controller) {
+        FXMLBinder binder = new FXMLBinder(controller, RESOURCES, null);
+        binder.setLookup(MethodHandles.lookup());
+        return binder;
+    }
+
+    @Test
+    void injectsTheResources() {
+        Controller controller = new Controller();
+        FXMLBinder binder = binder(controller);
+        assertSame(RESOURCES, controller.resources);
+        assertEquals("Login", binder.getString("login.title"));
+        assertThrows(IllegalStateException.class, () -> binder.setLookup(MethodHandles.lookup()));
+    }
+
+    @Test
+    void injectsTheAnnotatedAndPublicFields() {
+        Controller controller = new Controller();
+        FXMLBinder binder = binder(controller);
+        Object title = new Object();
+        Object status = new Object();
+        assertSame(title, binder.register("title", title));
+        binder.register("status", status);
+        binder.register("hidden", new Object());
+        assertSame(title, controller.title);
+        assertSame(status, controller.status);
+        assertNull(controller.hidden);
+        assertEquals(3, binder.getNamespace().size());
+    }
+
+    @Test
+    void callsTheEventHandlers() {
+        Controller controller = new Controller();
+        FXMLBinder binder = binder(controller);
+        ActionEvent event = new ActionEvent();
+        binder.<ActionEvent>handler("submit").handle(event);
+        binder.handler("reset").handle(event);
+        assertSame(event, controller.submitted);
+        assertEquals(1, controller.resets);
+    }
+
+    @Test
+    void rejectsMissingEventHandlers() {
+        FXMLBinder binder = binder(new Controller());
+        assertThrows(IllegalStateException.class, () -> binder.handler("missing"));
+        assertThrows(IllegalStateException.class, () -> binder.handler("hidden"));
+    }
+
+    @Test
+    void initializesTheController() {
+        Controller controller = new Controller();
+        binder(controller).initialize();
+        assertEquals(1, controller.initialized);
+    }
+}
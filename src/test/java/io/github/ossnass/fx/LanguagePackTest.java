@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LanguagePackTest {
+    @TempDir
+    Path dir;
+
+    private Path convert(String content) throws IOException {
+        Path languageFile = dir.resolve("test.lang");
+        Files.write(languageFile, content.getBytes(StandardCharsets.UTF_8));
+        Path pack = LanguagePackConverter.packOf(languageFile);
+        LanguagePackConverter.convert(languageFile, pack);
+        return pack;
+    }
+
+    @Test
+    void packOfReplacesTheExtension() {
+        assertEquals(Paths.get("lang", "en-us.langpack"), LanguagePackConverter.packOf(Paths.get("lang", "en-us.lang")));
+    }
+
+    @Test
+    void decodesTheValuesOfTheLanguageFile() throws IOException {
+        LanguagePack pack = LanguagePack.open(convert("LANG.SHORT=ar\nLANG.COUNTRY=sa\nHELLO=مرحبا\nEMOJI=😀 ok\nEMPTY=\n"));
+        assertEquals(5, pack.size());
+        assertEquals("ar", pack.get("LANG.SHORT"));
+        assertEquals("مرحبا", pack.get("HELLO"));
+        assertEquals("😀 ok", pack.get("EMOJI"));
+        assertEquals("", pack.get("EMPTY"));
+        assertTrue(pack.containsKey("HELLO"));
+        assertNull(pack.get("MISSING"));
+        assertFalse(pack.containsKey("MISSING"));
+    }
+
+    @Test
+    void roundTripsManyKeys() throws IOException {
+        Properties properties = new Properties();
+        for (int i = 0; i < 2000; i++)
+            properties.setProperty("KEY." + i, i % 3 == 0 ? "shared" : "Value " + i + " ünïcödé");
+        Path pack = dir.resolve("many.langpack");
+        LanguagePackConverter.write(properties, pack);
+        LanguagePack opened = LanguagePack.open(pack);
+        assertEquals(properties.size(), opened.size());
+        assertEquals(properties.stringPropertyNames(), opened.keySet());
+        for (String key : properties.stringPropertyNames())
+            assertEquals(properties.getProperty(key), opened.get(key));
+    }
+
+    @Test
+    void readsAPackFromAJar() throws IOException {
+        Path pack = convert("HELLO=Hello\n");
+        Path jar = dir.resolve("packs.jar");
+        try (OutputStream file = Files.newOutputStream(jar); JarOutputStream out = new JarOutputStream(file)) {
+            out.putNextEntry(new ZipEntry("test.langpack"));
+            out.write(Files.readAllBytes(pack));
+        }
+        LanguagePack opened = LanguagePack.open(new URL("jar:" + jar.toUri() + "!/test.langpack"));
+        assertEquals("Hello", opened.get("HELLO"));
+    }
+
+    @Test
+    void mergeDecodesThePack() throws IOException {
+        LanguageTable merged = LanguagePack.open(convert("A=1\nB=2\n")).merge(Map.of("B", "changed", "C", "3"));
+        assertEquals("1", merged.get("A"));
+        assertEquals("2", merged.get("B"));
+        assertEquals("3", merged.get("C"));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("test.langpack");
+        Files.write(file, "HELLO=Hello, this is not a language pack\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> LanguagePack.open(file));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiSourceResourceBundleTest {
+    private static final String EN_US = "LANG.SHORT=en\nLANG.COUNTRY=us\n";
+    private static final String AR_SA = "LANG.SHORT=ar\nLANG.COUNTRY=sa\n";
+
+    private static MultiSourceResourceBundle bundle(String content) throws IOException {
+        return new MultiSourceResourceBundle(new StringReader(content));
+    }
+
+    private static LanguageSource source(String name, String content) {
+        return LanguageSource.of(name, new StringReader(content));
+    }
+
+    @Test
+    void theLanguageKeepsItsValues() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US + "OK=Ok\n");
+        LanguageMergeReport report = bundle.appendResources(List.of(source("a", EN_US + "OK=Okay\nCANCEL=Cancel\n")));
+        assertEquals("Ok", bundle.getString("OK"));
+        assertEquals("Cancel", bundle.getString("CANCEL"));
+        assertEquals(1, report.getAddedKeys());
+        assertEquals(1, report.getConflicts().size());
+        LanguageMergeReport.Conflict conflict = report.getConflicts().get(0);
+        assertEquals("OK", conflict.getKey());
+        assertNull(conflict.getKeptSource());
+        assertEquals("Ok", conflict.getKeptValue());
+        assertEquals("a", conflict.getIgnoredSource());
+        assertEquals("Okay", conflict.getIgnoredValue());
+    }
+
+    @Test
+    void theFirstFileDefiningAKeyWins() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US);
+        LanguageMergeReport report = bundle.appendResources(List.of(
+                source("first", EN_US + "TITLE=First\nSAME=Same\n"),
+                source("second", EN_US + "TITLE=Second\nSAME=Same\nMORE=More\n")));
+        assertEquals("First", bundle.getString("TITLE"));
+        assertEquals("More", bundle.getString("MORE"));
+        assertEquals(2, report.getSources().get(0).getAddedKeys());
+        assertEquals(1, report.getSources().get(1).getAddedKeys());
+        //equal values are not conflicts
+        assertEquals(1, report.getConflicts().size());
+        LanguageMergeReport.Conflict conflict = report.getConflicts().get(0);
+        assertEquals("TITLE", conflict.getKey());
+        assertEquals("first", conflict.getKeptSource());
+        assertEquals("second", conflict.getIgnoredSource());
+    }
+
+    @Test
+    void theOrderDoesNotDependOnTheReadingOrder() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int run = 0; run < 20; run++) {
+                MultiSourceResourceBundle bundle = bundle(EN_US);
+                bundle.appendResources(List.of(
+                        source("1", EN_US + "KEY=1\n"),
+                        source("2", EN_US + "KEY=2\n"),
+                        source("3", EN_US + "KEY=3\n")), executor);
+                assertEquals("1", bundle.getString("KEY"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void appendingOneByOneHasTheSamePrecedence() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US + "A=a\n");
+        assertTrue(bundle.appendResource(new StringReader(EN_US + "A=changed\nB=b\n")));
+        assertTrue(bundle.appendResource(new StringReader(EN_US + "B=changed\nC=c\n")));
+        assertEquals("a", bundle.getString("A"));
+        assertEquals("b", bundle.getString("B"));
+        assertEquals("c", bundle.getString("C"));
+    }
+
+    @Test
+    void filesOfAnotherLanguageAreRejected() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US);
+        LanguageMergeReport report = bundle.appendResources(List.of(
+                source("arabic", AR_SA + "HELLO=مرحبا\n"),
+                source("no header", "HELLO=Hi\n")));
+        assertFalse(report.getSources().get(0).isMerged());
+        assertFalse(report.getSources().get(1).isMerged());
+        assertEquals(0, report.getAddedKeys());
+        assertFalse(bundle.containsKey("HELLO"));
+        assertFalse(bundle.appendResource(new StringReader(AR_SA + "HELLO=مرحبا\n")));
+    }
+
+    @Test
+    void theHeaderIsTakenFromTheLanguage() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US + "LANG.NAME=English\n");
+        LanguageMergeReport report = bundle.appendResources(List.of(source("a", EN_US + "LANG.NAME=Other\n")));
+        assertEquals("English", bundle.getString("LANG.NAME"));
+        assertTrue(report.getConflicts().isEmpty());
+    }
+
+    @Test
+    void aFailedReadAppendsNothing() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US);
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IOException e = assertThrows(IOException.class, () -> bundle.appendResources(List.of(
+                source("good", EN_US + "A=a\n"), LanguageSource.of("broken", failing))));
+        assertEquals("broken", e.getMessage());
+        assertFalse(bundle.containsKey("A"));
+    }
+
+    @Test
+    void theFilesOfEachLanguageAreKept() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US + "HELLO=Hello\n");
+        bundle.appendResources(List.of(source("en", EN_US + "BYE=Bye\n"), source("ar", AR_SA + "BYE=مع السلامة\n"),
+                source("no header", "BYE=?\n")));
+        assertEquals("Bye", bundle.getString("BYE"));
+        LanguageTable arabic = bundle(AR_SA + "HELLO=مرحبا\n").table();
+        List<StringTable> fragments = bundle.fragmentsOf(arabic);
+        assertEquals(1, fragments.size());
+        assertEquals("مع السلامة", fragments.get(0).get("BYE"));
+        assertEquals(1, bundle.fragmentsOf(bundle.table()).size());
+    }
+
+    @Test
+    void theFilesOfALanguageDoNotReplaceItsKeys() throws IOException {
+        LanguageTable table = bundle(AR_SA + "HELLO=مرحبا\n").table();
+        LanguageTable merged = MultiSourceResourceBundle.withFragments(table, List.of(
+                StringTable.of(Map.of("HELLO", "changed", "BYE", "first")),
+                StringTable.of(Map.of("BYE", "second"))));
+        assertEquals("مرحبا", merged.get("HELLO"));
+        assertEquals("first", merged.get("BYE"));
+        assertSame(table, MultiSourceResourceBundle.withFragments(table, List.of()));
+    }
+
+    @Test
+    void replacingSwapsTheValues() throws IOException {
+        MultiSourceResourceBundle bundle = bundle(EN_US + "HELLO=Hello\n");
+        bundle.appendResources(List.of(source("ar", AR_SA + "BYE=مع السلامة\n")));
+        LanguageTable arabic = bundle(AR_SA + "HELLO=مرحبا\n").table();
+        bundle.replace(arabic);
+        assertSame(arabic, bundle.table());
+        assertEquals("مرحبا", bundle.getString("HELLO"));
+        assertFalse(bundle.containsKey("BYE"));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Ossama Nasser
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.ossnass.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StringTableTest {
+
+    @Test
+    void lookupsReturnTheValueOfEveryKey() {
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            entries.put("KEY." + i, "Value " + i);
+        StringTable table = StringTable.of(entries);
+        assertEquals(1000, table.size());
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            assertTrue(table.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), table.get(entry.getKey()));
+        }
+        assertEquals(entries.keySet(), table.keySet());
+    }
+
+    @Test
+    void missingKeysAreNotFound() {
+        StringTable table = StringTable.of(Map.of("A", "1", "B", "2"));
+        assertNull(table.get("C"));
+        assertFalse(table.containsKey("C"));
+        assertNull(StringTable.EMPTY.get("A"));
+        assertEquals(0, StringTable.EMPTY.size());
+    }
+
+    @Test
+    void keysWithTheSameHashAreToldApart() {
+        //"Aa" and "BB" have the same hash code
+        StringTable table = StringTable.of(Map.of("Aa", "first", "BB", "second"));
+        assertEquals("first", table.get("Aa"));
+        assertEquals("second", table.get("BB"));
+    }
+
+    @Test
+    void mergeKeepsTheExistingValues() {
+        StringTable table = StringTable.of(Map.of("A", "1", "B", "2"));
+        StringTable merged = table.merge(Map.of("B", "changed", "C", "3"));
+        assertEquals("1", merged.get("A"));
+        assertEquals("2", merged.get("B"));
+        assertEquals("3", merged.get("C"));
+        assertEquals(3, merged.size());
+        //the merged table is a new table
+        assertNull(table.get("C"));
+    }
+
+    @Test
+    void equalValuesAreStoredOnce() {
+        StringTable table = StringTable.of(Map.of("OK", new String("Ok"), "BUTTON.OK", new String("Ok")));
+        assertSame(table.get("OK"), table.get("BUTTON.OK"));
+    }
+
+    @Test
+    void flattenTakesEachKeyFromTheFirstTable() {
+        StringTable language = StringTable.of(Map.of("A", "ar-a"));
+        StringTable fallback = StringTable.of(Map.of("A", "en-a", "B", "en-b"));
+        StringTable flat = StringTable.flatten(List.of(language, fallback), new HashMap<>());
+        assertEquals("ar-a", flat.get("A"));
+        assertEquals("en-b", flat.get("B"));
+        assertEquals(Set.of("A", "B"), flat.keySet());
+    }
+
+    @Test
+    void flattenSharesTheStringsOfThePool() {
+        Map<String, String> pool = new HashMap<>();
+        StringTable first = StringTable.flatten(List.of(StringTable.of(Map.of("A", new String("same")))), pool);
+        StringTable second = StringTable.flatten(List.of(StringTable.of(Map.of("B", new String("same")))), pool);
+        assertSame(first.get("A"), second.get("B"));
+    }
+}